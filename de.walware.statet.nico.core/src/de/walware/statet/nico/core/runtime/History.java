@@ -13,6 +13,7 @@ package de.walware.statet.nico.core.runtime;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.Map;
@@ -247,25 +248,40 @@ public class History {
 					if (timeStamp < 0) {
 						timeStamp = System.currentTimeMillis();
 					}
-					if (reader.ready()) {
-						String line = reader.readLine();
+					// only the newest lines are kept (ring buffer), entries are created at the end
+					final int maxSize = Math.max(fMaxSize, 1);
+					String[] lines = new String[Math.min(maxSize, 0x400)];
+					long[] stamps = new long[lines.length];
+					int start = 0;
+					int size = 0;
+					while (reader.ready()) {
+						final String line = reader.readLine();
 						timeStamp = checkTimeStamp(line, timeStamp);
-						exch.oldest = new Entry(null, line, timeStamp, null);
-						exch.newest = exch.oldest;
-						exch.size = 1;
-						final int maxSize = fMaxSize;
-						while (reader.ready()) {
-							line = reader.readLine();
-							timeStamp = checkTimeStamp(line, timeStamp);
-							exch.newest = new Entry(exch.newest, line, timeStamp, null);
-							if (exch.size < maxSize) {
-								exch.size++;
-							}
-							else {
-								exch.oldest = exch.oldest.dispose();
+						if (size < maxSize) {
+							if (size == lines.length) {
+								final int newLength = (int) Math.min((long) size * 2, maxSize);
+								lines = Arrays.copyOf(lines, newLength);
+								stamps = Arrays.copyOf(stamps, newLength);
 							}
+							lines[size] = line;
+							stamps[size] = timeStamp;
+							size++;
+						}
+						else {
+							lines[start] = line;
+							stamps[start] = timeStamp;
+							start = (start + 1) % size;
+						}
+					}
+					for (int i = 0; i < size; i++) {
+						final int idx = (start + i) % lines.length;
+						exch.newest = new Entry(exch.newest, lines[idx], stamps[idx], null);
+						if (i == 0) {
+							exch.oldest = exch.newest;
 						}
+						lines[idx] = null;
 					}
+					exch.size = size;
 					monitor.done();
 				}
 			};
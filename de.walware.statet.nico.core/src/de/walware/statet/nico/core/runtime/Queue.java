@@ -150,14 +150,14 @@ public final class Queue implements IQueue {
 	
 	private final ToolProcess fProcess;
 	
-	int fCounter = 1;
+	volatile int fCounter = 1;
 	int fCounterNext = fCounter+1;
 	
 	private boolean fResetOnIdle = false;
 	private final List<RankedItem> fOnIdleList = new ArrayList<RankedItem>();
 	private final LinkedList<IToolRunnable> fNextIdleList = new LinkedList<IToolRunnable>();
 	
-	private final LinkedList<IToolRunnable> fHotList = new LinkedList<IToolRunnable>();
+	private final Deque<IToolRunnable> fHotList = new ArrayDeque<IToolRunnable>();
 	
 	
 	Queue(final ToolProcess process) {
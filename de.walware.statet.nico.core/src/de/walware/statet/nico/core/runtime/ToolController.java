@@ -425,21 +425,21 @@ public abstract class ToolController implements IConsoleService {
 	private RunnableProgressMonitor fRunnableProgressMonitor;
 	
 	private Thread fControllerThread;
-	private ToolStatus fStatus = ToolStatus.STARTING;
+	private volatile ToolStatus fStatus = ToolStatus.STARTING;
 	private ToolStatus fStatusPrevious;
 	private final FastList<IToolStatusListener> fToolStatusListeners = new FastList<IToolStatusListener>(IToolStatusListener.class, FastList.IDENTITY);
 	private final List<DebugEvent> fEventCollector = new LinkedList<DebugEvent>();
 	private int fInternalTask;
-	private boolean fPauseRequested;
+	private volatile boolean fPauseRequested;
 	private boolean fTerminateForced;
 	private volatile boolean fIsTerminated;
 	private boolean fHotModeDeferred;
-	private boolean fHotMode;
-	private boolean fHotModeNested = true;
+	private volatile boolean fHotMode;
+	private volatile boolean fHotModeNested = true;
 	private final IProgressMonitor fHotModeMonitor = new NullProgressMonitor();
 	
-	private int fSuspendedRequestLevel;
-	private int fLoopCurrentLevel; // only within loop
+	private volatile int fSuspendedRequestLevel;
+	private volatile int fLoopCurrentLevel; // only within loop
 	private int fSuspendedRunLevel; // also when running exit/continue suspended
 	private int fSuspendedLowerLevel;
 	private final FastList<IToolRunnable> fSuspendUpdateRunnables = new FastList<IToolRunnable>(IToolRunnable.class);
@@ -519,9 +519,7 @@ public abstract class ToolController implements IConsoleService {
 	}
 	
 	public final ToolStatus getStatus() {
-		synchronized (fQueue) {
-			return fStatus;
-		}
+		return fStatus;
 	}
 	
 	protected final ToolStatus getStatusL() {
@@ -630,18 +628,14 @@ public abstract class ToolController implements IConsoleService {
 	 * @return <code>true</code> if paused, otherwise <code>false</code>.
 	 */
 	public final boolean isPaused() {
-		synchronized (fQueue) {
-			return (fPauseRequested || fStatus == ToolStatus.STARTED_PAUSED);
-		}
+		return (fPauseRequested || fStatus == ToolStatus.STARTED_PAUSED);
 	}
 	
 	public final int getHotTasksState() {
-		synchronized (fQueue) {
-			if (fHotMode) {
-				return (fHotModeNested) ? 2 : 1;
-			}
-			return 0;
+		if (fHotMode) {
+			return (fHotModeNested) ? 2 : 1;
 		}
+		return 0;
 	}
 	
 	protected final boolean isInHotModeL() {
@@ -657,9 +651,7 @@ public abstract class ToolController implements IConsoleService {
 	 * @return <code>true</code> if suspended, otherwise <code>false</code>
 	 */
 	public final boolean isSuspended() {
-		synchronized (fQueue) {
-			return (fSuspendedRequestLevel > 0 || fLoopCurrentLevel > 0);
-		}
+		return (fSuspendedRequestLevel > 0 || fLoopCurrentLevel > 0);
 	}
 	
 	/**
@@ -1308,10 +1300,7 @@ public abstract class ToolController implements IConsoleService {
 	}
 	
 	protected final void scheduleHotMode() {
-		final ToolStatus status;
-		synchronized (this) {
-			status = fStatus;
-		}
+		final ToolStatus status = fStatus;
 		switch (status) {
 		case TERMINATED:
 			return;
@@ -33,6 +33,7 @@ public class Messages extends NLS {
 	
 	public static String Console_SubmitButton_label;
 	public static String Console_error_UnexpectedException_message;
+	public static String Console_OutputOmitted_message;
 	
 	public static String CancelAction_name;
 	public static String CancelAction_tooltip;
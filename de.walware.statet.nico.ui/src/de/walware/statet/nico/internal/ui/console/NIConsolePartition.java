@@ -29,6 +29,14 @@ public final class NIConsolePartition implements ITypedRegion {
 	 */
 	private final String type;
 	
+	/**
+	 * The list containing this partition, if added.
+	 */
+	private NIConsolePartitionList list;
+	
+	/**
+	 * The offset in the document, or relative to the base offset of the list, if added to a list.
+	 */
 	private int offset;
 	private int length;
 	
@@ -67,7 +75,20 @@ public final class NIConsolePartition implements ITypedRegion {
 	 * @param offset This partitions offset in the document.
 	 */
 	void setOffset(final int offset) {
-		this.offset= offset;
+		this.offset= (this.list != null) ? offset + this.list.getBaseOffset() : offset;
+	}
+	
+	void setList(final NIConsolePartitionList list) {
+		this.offset= getOffset() + list.getBaseOffset();
+		this.list= list;
+	}
+	
+	int getListOffset() {
+		return this.offset;
+	}
+	
+	void moveListOffset(final int delta) {
+		this.offset+= delta;
 	}
 	
 	/**
@@ -81,7 +102,7 @@ public final class NIConsolePartition implements ITypedRegion {
 	
 	@Override
 	public int getOffset() {
-		return this.offset;
+		return (this.list != null) ? this.offset - this.list.getBaseOffset() : this.offset;
 	}
 	
 	@Override
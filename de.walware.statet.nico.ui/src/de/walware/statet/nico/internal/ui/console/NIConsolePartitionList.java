@@ -0,0 +1,180 @@
+/*=============================================================================#
+ # Copyright (c) 2015 Stephan Wahlbrink (WalWare.de) and others.
+ # All rights reserved. This program and the accompanying materials
+ # are made available under the terms of the Eclipse Public License v1.0
+ # which accompanies this distribution, and is available at
+ # http://www.eclipse.org/legal/epl-v10.html
+ # 
+ # Contributors:
+ #     Stephan Wahlbrink - initial API and implementation
+ #=============================================================================*/
+
+package de.walware.statet.nico.internal.ui.console;
+
+
+/**
+ * List of the partitions of a NIConsole's document, ordered by offset.
+ * 
+ * The partitions are stored in a ring buffer. The offsets of the partitions in the list are
+ * relative to a base offset, so that the beginning of the document can be trimmed by advancing
+ * the base offset, without shifting the array or updating the remaining partitions.
+ */
+final class NIConsolePartitionList {
+	
+	
+	/** Max base offset before the offsets of the partitions are rebased to 0 */
+	private static final int MAX_BASE_OFFSET= 0x40000000;
+	
+	
+	private NIConsolePartition[] items= new NIConsolePartition[0x100];
+	
+	private int head;
+	
+	private int size;
+	
+	private int baseOffset;
+	
+	
+	public NIConsolePartitionList() {
+	}
+	
+	
+	int getBaseOffset() {
+		return this.baseOffset;
+	}
+	
+	public int size() {
+		return this.size;
+	}
+	
+	public NIConsolePartition get(final int index) {
+		if (index < 0 || index >= this.size) {
+			throw new IndexOutOfBoundsException(Integer.toString(index));
+		}
+		return this.items[(this.head + index) & (this.items.length - 1)];
+	}
+	
+	public NIConsolePartition getLast() {
+		return (this.size > 0) ? get(this.size - 1) : null;
+	}
+	
+	/**
+	 * Returns the index of the partition containing the specified offset.
+	 * 
+	 * @param offset the offset in the document
+	 * @return the index of the partition or <code>-1</code>, if no partition contains the offset
+	 */
+	public int indexOf(final int offset) {
+		final int index= indexOfLastStart(offset);
+		if (index >= 0) {
+			final NIConsolePartition partition= get(index);
+			if (offset < partition.getOffset() + partition.getLength()) {
+				return index;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Returns the index of the last partition starting at or before the specified offset.
+	 */
+	private int indexOfLastStart(final int offset) {
+		final int listOffset= offset + this.baseOffset;
+		int low= 0;
+		int high= this.size - 1;
+		while (low <= high) {
+			final int mid= (low + high) >>> 1;
+			if (get(mid).getListOffset() <= listOffset) {
+				low= mid + 1;
+			}
+			else {
+				high= mid - 1;
+			}
+		}
+		return high;
+	}
+	
+	/**
+	 * Adds the partition to the end of the list.
+	 * 
+	 * @param partition the partition with its offset in the document
+	 */
+	public void add(final NIConsolePartition partition) {
+		if (this.size == this.items.length) {
+			final NIConsolePartition[] newItems= new NIConsolePartition[this.items.length * 2];
+			for (int i= 0; i < this.size; i++) {
+				newItems[i]= get(i);
+			}
+			this.items= newItems;
+			this.head= 0;
+		}
+		partition.setList(this);
+		this.items[(this.head + this.size) & (this.items.length - 1)]= partition;
+		this.size++;
+	}
+	
+	public void removeLast() {
+		if (this.size == 0) {
+			throw new IndexOutOfBoundsException();
+		}
+		this.size--;
+		this.items[(this.head + this.size) & (this.items.length - 1)]= null;
+	}
+	
+	/**
+	 * Removes the beginning of the document up to the specified offset.
+	 * 
+	 * The partitions ending before the offset are removed, the partition containing the offset is
+	 * shortened. The offsets of the remaining partitions are moved by advancing the base offset.
+	 * 
+	 * @param cutOffset the offset in the document of the new beginning
+	 */
+	public void trim(final int cutOffset) {
+		if (cutOffset <= 0) {
+			return;
+		}
+		int count= indexOfLastStart(cutOffset);
+		if (count >= 0) {
+			final NIConsolePartition partition= get(count);
+			final int end= partition.getOffset() + partition.getLength();
+			if (cutOffset < end) {
+				partition.setLength(end - cutOffset);
+				partition.setOffset(cutOffset);
+			}
+			else {
+				count++;
+			}
+		}
+		else {
+			count= 0;
+		}
+		for (int i= 0; i < count; i++) {
+			this.items[this.head]= null;
+			this.head= (this.head + 1) & (this.items.length - 1);
+		}
+		this.size-= count;
+		
+		this.baseOffset+= cutOffset;
+		if (this.baseOffset > MAX_BASE_OFFSET) {
+			rebase();
+		}
+	}
+	
+	private void rebase() {
+		final int delta= -this.baseOffset;
+		for (int i= 0; i < this.size; i++) {
+			get(i).moveListOffset(delta);
+		}
+		this.baseOffset= 0;
+	}
+	
+	public void clear() {
+		for (int i= 0; i < this.size; i++) {
+			this.items[(this.head + i) & (this.items.length - 1)]= null;
+		}
+		this.head= 0;
+		this.size= 0;
+		this.baseOffset= 0;
+	}
+	
+}
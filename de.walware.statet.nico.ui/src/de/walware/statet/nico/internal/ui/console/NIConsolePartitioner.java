@@ -13,7 +13,6 @@ package de.walware.statet.nico.internal.ui.console;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -22,6 +21,7 @@ import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.IJobManager;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.osgi.util.NLS;
 import org.eclipse.jface.text.AbstractDocument;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.DocumentEvent;
@@ -39,6 +39,7 @@ import org.eclipse.ui.progress.WorkbenchJob;
 import de.walware.ecommons.collections.ImCollections;
 import de.walware.ecommons.collections.ImList;
 
+import de.walware.statet.nico.internal.ui.Messages;
 import de.walware.statet.nico.ui.console.NIConsole;
 import de.walware.statet.nico.ui.console.NIConsoleOutputStream;
 
@@ -66,6 +67,11 @@ public class NIConsolePartitioner implements IConsoleDocumentPartitioner, IDocum
 			append(text);
 		}
 		
+		private PendingPartition(final NIConsoleOutputStream stream, final StringBuilder text) {
+			this.stream= stream;
+			this.text= text;
+		}
+		
 		
 		public NIConsoleOutputStream getStream() {
 			return this.stream;
@@ -80,6 +86,18 @@ public class NIConsolePartitioner implements IConsoleDocumentPartitioner, IDocum
 			NIConsolePartitioner.this.pendingTextLength+= text.length();
 		}
 		
+		/**
+		 * Splits the text of this partition at the specified index.
+		 * 
+		 * @return a new partition with the text after the index
+		 */
+		private PendingPartition split(final int index) {
+			final PendingPartition partition= new PendingPartition(this.stream,
+					new StringBuilder(this.text.substring(index)) );
+			this.text.setLength(index);
+			return partition;
+		}
+		
 	}
 	
 	
@@ -91,7 +109,7 @@ public class NIConsolePartitioner implements IConsoleDocumentPartitioner, IDocum
 	
 	private boolean isConnected= false;
 	
-	private final ArrayList<NIConsolePartition> partitions= new ArrayList<>();
+	private final NIConsolePartitionList partitions= new NIConsolePartitionList();
 	
 	/**
 	 * The last partition appended to the document
@@ -105,6 +123,20 @@ public class NIConsolePartitioner implements IConsoleDocumentPartitioner, IDocum
 	
 	private int pendingTextLength; 
 	
+	/**
+	 * Max length of pending text, if the middle of the pending text is dropped on overflow.
+	 */
+	private int maxPendingLength= 0x100000;
+	
+	private boolean dropPendingOverflow;
+	
+	/**
+	 * Partition with the note for the pending text dropped since the last update.
+	 */
+	private PendingPartition pendingDropNote;
+	
+	private long pendingDropLength;
+	
 	/**
 	 * A list of PendingPartitions to be appended by the updateJob
 	 */
@@ -180,6 +212,9 @@ public class NIConsolePartitioner implements IConsoleDocumentPartitioner, IDocum
 	public void setWaterMarks(final int low, final int high) {
 		this.lowWaterMark= low;
 		this.highWaterMark= high;
+		synchronized (this.pendingPartitions) {
+			this.maxPendingLength= (high > 0) ? Math.max(high, 0x10000) : 0x100000;
+		}
 		ConsolePlugin.getStandardDisplay().asyncExec(new Runnable() {
 			@Override
 			public void run() {
@@ -188,6 +223,19 @@ public class NIConsolePartitioner implements IConsoleDocumentPartitioner, IDocum
 		});
 	}
 	
+	/**
+	 * Sets if the producer of output (the tool) is blocked, if the pending text exceeds the
+	 * buffer, or if the middle of the pending text is dropped instead.
+	 * 
+	 * @param enable <code>true</code> to drop the pending text
+	 */
+	public void setDropPendingOverflow(final boolean enable) {
+		synchronized (this.pendingPartitions) {
+			this.dropPendingOverflow= enable;
+			this.pendingPartitions.notifyAll();
+		}
+	}
+	
 	/**
 	 * Notification from the console that all of its streams have been closed.
 	 */
@@ -288,13 +336,9 @@ public class NIConsolePartitioner implements IConsoleDocumentPartitioner, IDocum
 	
 	@Override
 	public ITypedRegion getPartition(final int offset) {
-		for (int i= 0; i < this.partitions.size(); i++) {
-			final ITypedRegion partition= this.partitions.get(i);
-			final int start= partition.getOffset();
-			final int end= start + partition.getLength();
-			if (offset >= start && offset < end) {
-				return partition;
-			}
+		final int index= this.partitions.indexOf(offset);
+		if (index >= 0) {
+			return this.partitions.get(index);
 		}
 		
 		return (this.lastPartition != null) ? 
@@ -356,11 +400,9 @@ public class NIConsolePartitioner implements IConsoleDocumentPartitioner, IDocum
 								continue;
 							}
 							
-							if (partition.getLength() == 0) {
-								final int idx= this.partitions.lastIndexOf(partition);
-								if (idx >= 0) {
-									this.partitions.remove(idx);
-								}
+							if (partition.getLength() == 0
+									&& this.partitions.getLast() == partition) {
+								this.partitions.removeLast();
 							}
 							partition= null;
 						}
@@ -417,6 +459,12 @@ public class NIConsolePartitioner implements IConsoleDocumentPartitioner, IDocum
 			
 			if (this.pendingTextLength > 0xffff) {
 				if (Display.getCurrent() == null){
+					if (this.dropPendingOverflow) {
+						if (this.pendingTextLength > this.maxPendingLength) {
+							dropPendingText();
+						}
+						return;
+					}
 					try {
 						this.pendingPartitions.wait();
 					}
@@ -434,6 +482,90 @@ public class NIConsolePartitioner implements IConsoleDocumentPartitioner, IDocum
 		}
 	}
 	
+	/**
+	 * Drops the middle of the pending text, so that the beginning and the end of the output are
+	 * kept, and adds (or updates) a note with the number of omitted characters.
+	 * 
+	 * Must be called in the synchronized block of {@link #pendingPartitions}.
+	 */
+	private void dropPendingText() {
+		final List<PendingPartition> list= this.pendingPartitions;
+		final int keepLength= this.maxPendingLength / 2;
+		int index= 0;
+		if (this.pendingDropNote == null) {
+			int offset= 0;
+			for (; index < list.size(); index++) {
+				final PendingPartition partition= list.get(index);
+				if (partition == null) {
+					return;
+				}
+				final int length= partition.text.length();
+				if (offset + length > keepLength) {
+					if (offset < keepLength) {
+						list.add(++index, partition.split(keepLength - offset));
+					}
+					break;
+				}
+				offset+= length;
+			}
+			if (index >= list.size()) {
+				return;
+			}
+			NIConsoleOutputStream stream= this.console.getStream(NIConsoleOutputStream.INFO_STREAM_ID);
+			if (stream == null) {
+				stream= list.get(index).stream;
+			}
+			this.pendingDropNote= new PendingPartition(stream, new StringBuilder());
+			list.add(index, this.pendingDropNote);
+		}
+		else {
+			index= list.indexOf(this.pendingDropNote);
+		}
+		index++;
+		
+		int dropLength= -keepLength;
+		for (int i= index; i < list.size(); i++) {
+			final PendingPartition partition= list.get(i);
+			if (partition != null) {
+				dropLength+= partition.text.length();
+			}
+		}
+		int droppedLength= 0;
+		while (dropLength > 0 && index < list.size()) {
+			final PendingPartition partition= list.get(index);
+			if (partition == null) {
+				break;
+			}
+			final int length= partition.text.length();
+			if (length <= dropLength) {
+				list.remove(index);
+				dropLength-= length;
+				droppedLength+= length;
+				continue;
+			}
+			// cut after the next line break if possible
+			int end= partition.text.indexOf("\n", dropLength - 1) + 1; //$NON-NLS-1$
+			if (end <= 0) {
+				end= dropLength;
+			}
+			partition.text.delete(0, end);
+			droppedLength+= end;
+			break;
+		}
+		if (droppedLength == 0) {
+			return;
+		}
+		this.pendingDropLength+= droppedLength;
+		
+		final StringBuilder noteText= this.pendingDropNote.text;
+		droppedLength+= noteText.length();
+		noteText.setLength(0);
+		noteText.append('\n');
+		noteText.append(NLS.bind(Messages.Console_OutputOmitted_message, this.pendingDropLength));
+		noteText.append('\n');
+		this.pendingTextLength+= noteText.length() - droppedLength;
+	}
+	
 	/**
 	 * Updates the document. Will append everything that is available before 
 	 * finishing.
@@ -478,6 +610,8 @@ public class NIConsolePartitioner implements IConsoleDocumentPartitioner, IDocum
 				this.pendingPartitions.clear();
 				pendingLength= this.pendingTextLength;
 				this.pendingTextLength= 0;
+				this.pendingDropNote= null;
+				this.pendingDropLength= 0;
 				this.pendingPartitions.notifyAll();
 			}
 			if (pendingCopy.isEmpty()) {
@@ -573,26 +707,12 @@ public class NIConsolePartitioner implements IConsoleDocumentPartitioner, IDocum
 							final int cutoffLine= NIConsolePartitioner.this.document.getLineOfOffset(this.truncateOffset);
 							final int cutOffset= NIConsolePartitioner.this.document.getLineOffset(cutoffLine);
 							
-							// set the new length of the first partition
-							final NIConsolePartition partition= (NIConsolePartition) getPartition(cutOffset);
-							partition.setLength(partition.getOffset() + partition.getLength() - cutOffset);
-							
 							setUpdateInProgress(true);
 							NIConsolePartitioner.this.document.replace(0, cutOffset, ""); //$NON-NLS-1$
 							setUpdateInProgress(false);
 							
-							//remove partitions and reset Partition offsets
-							final int index= NIConsolePartitioner.this.partitions.indexOf(partition);
-							for (int i= 0; i < index; i++) {
-								NIConsolePartitioner.this.partitions.remove(0);
-							}
-							
-							int offset= 0;
-							for (final Iterator<NIConsolePartition> i= NIConsolePartitioner.this.partitions.iterator(); i.hasNext();) {
-								final NIConsolePartition p= i.next();
-								p.setOffset(offset);
-								offset += p.getLength();
-							}
+							// remove partitions and move the offsets of the remaining partitions
+							NIConsolePartitioner.this.partitions.trim(cutOffset);
 						}
 					} catch (final BadLocationException e) {
 					}
@@ -19,6 +19,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jface.databinding.swt.SWTObservables;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Group;
 import org.eclipse.swt.widgets.Label;
@@ -55,6 +56,7 @@ class ConsolePreferenceBlock extends ManagedConfigurationBlock {
 	
 	
 	private Text fCharLimitControl;
+	private Button fOverflowDropControl;
 	
 	private SubmitTypeSelectionComposite fSubmitTypeControl;
 	
@@ -70,6 +72,7 @@ class ConsolePreferenceBlock extends ManagedConfigurationBlock {
 		
 		prefs.put(ConsolePreferences.PREF_HISTORYNAVIGATION_SUBMIT_TYPES, ConsolePreferences.GROUP_ID);
 		prefs.put(ConsolePreferences.PREF_CHARLIMIT, ConsolePreferences.GROUP_ID);
+		prefs.put(ConsolePreferences.PREF_OVERFLOW_DROP, ConsolePreferences.GROUP_ID);
 		
 		setupPreferenceManager(prefs);
 		
@@ -114,6 +117,11 @@ class ConsolePreferenceBlock extends ManagedConfigurationBlock {
 			text.setTextLimit(20);
 			fCharLimitControl= text;
 		}
+		{	final Button button= new Button(group, SWT.CHECK);
+			button.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false, 2, 1));
+			button.setText("Drop the middle of the pending output if the console cannot follow the tool (instead of blocking the tool)");
+			fOverflowDropControl= button;
+		}
 		
 		return group;
 	}
@@ -129,6 +137,9 @@ class ConsolePreferenceBlock extends ManagedConfigurationBlock {
 				createObservable(ConsolePreferences.PREF_CHARLIMIT),
 				new UpdateValueStrategy().setAfterGetValidator(new IntegerValidator(100000, 1000000000, "Invalid char limit specified (100000-1000000000).")),
 				null );
+		db.getContext().bindValue(
+				SWTObservables.observeSelection(fOverflowDropControl),
+				createObservable(ConsolePreferences.PREF_OVERFLOW_DROP) );
 	}
 	
 }
@@ -129,7 +129,7 @@ public abstract class NIConsole extends TextConsole implements IAdaptable {
 			setFont(null);
 		}
 		PreferencesUtil.getSettingsChangeNotifier().addChangeListener(fSettingsListener);
-		updateWatermarks();
+		updateSettings();
 		
 		fStreamsClosed = fProcess.isTerminated();
 		fAdapter.connect(process, this);
@@ -173,6 +173,8 @@ public abstract class NIConsole extends TextConsole implements IAdaptable {
 	
 	protected void updateSettings() {
 		updateWatermarks();
+		fPartitioner.setDropPendingOverflow(PreferencesUtil.getInstancePrefs().getPreferenceValue(
+				ConsolePreferences.PREF_OVERFLOW_DROP ));
 	}
 	
 	protected void updateWatermarks() {
@@ -13,6 +13,7 @@ package de.walware.statet.r.internal.rdata;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -33,12 +34,14 @@ import de.walware.statet.r.console.core.RWorkspace;
 import de.walware.statet.r.core.data.ICombinedRElement;
 import de.walware.statet.r.core.model.IRElement;
 import de.walware.statet.r.core.model.IRFrame;
+import de.walware.statet.r.core.model.IRIndexedFrame;
 import de.walware.statet.r.core.model.IRLangElement;
 import de.walware.statet.r.core.model.RElementName;
+import de.walware.statet.r.core.model.RNamePrefixIndex;
 
 
 public final class REnvironmentVar extends CombinedElement
-		implements REnvironment, RWorkspace.ICombinedREnvironment, ExternalizableRObject, IRFrame {
+		implements REnvironment, RWorkspace.ICombinedREnvironment, ExternalizableRObject, IRIndexedFrame {
 	
 	
 	private String className1;
@@ -50,6 +53,7 @@ public final class REnvironmentVar extends CombinedElement
 	
 	private int length;
 	private CombinedElement[] components;
+	private volatile RNamePrefixIndex<CombinedElement> componentsIndex;
 	
 	private RCharacterDataImpl namesAttribute;
 	
@@ -311,6 +315,33 @@ public final class REnvironmentVar extends CombinedElement
 	}
 	
 	
+	@Override
+	public List<? extends IRLangElement> getModelChildrenByPrefix(final String namePrefix,
+			final Filter filter) {
+		if (this.components == null) {
+			return Collections.emptyList();
+		}
+		RNamePrefixIndex<CombinedElement> index = this.componentsIndex;
+		if (index == null) {
+			index = RNamePrefixIndex.<CombinedElement>forElements(Arrays.asList(this.components));
+			this.componentsIndex = index;
+		}
+		final List<CombinedElement> candidates = index.getCandidates(namePrefix);
+		if (filter == null) {
+			return candidates;
+		}
+		else {
+			final List<CombinedElement> list = new ArrayList<CombinedElement>();
+			for (final CombinedElement component : candidates) {
+				if (filter.include(component)) {
+					list.add(component);
+				}
+			}
+			return list;
+		}
+	}
+	
+	
 	@Override
 	public int getFrameType() {
 		return fFrameType;
@@ -336,6 +367,7 @@ public final class REnvironmentVar extends CombinedElement
 	public void setError(final String message) {
 		setElementName(RElementName.create(RElementName.MAIN_OTHER, this.environmentName));
 		this.components = new CombinedElement[0];
+		this.componentsIndex = null;
 		this.namesAttribute = new RCharacterDataImpl();
 		fCombinedName = fCombinedName + " ("+message+")"; //$NON-NLS-1$ //$NON-NLS-2$
 	}
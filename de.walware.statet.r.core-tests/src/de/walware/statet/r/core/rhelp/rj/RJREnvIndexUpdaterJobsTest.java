@@ -0,0 +1,125 @@
+/*=============================================================================#
+ # Copyright (c) 2015 Stephan Wahlbrink (WalWare.de) and others.
+ # All rights reserved. This program and the accompanying materials
+ # are made available under the terms of the Eclipse Public License v1.0
+ # which accompanies this distribution, and is available at
+ # http://www.eclipse.org/legal/epl-v10.html
+ # 
+ # Contributors:
+ #     Stephan Wahlbrink - initial API and implementation
+ #=============================================================================*/
+
+package de.walware.statet.r.core.rhelp.rj;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.walware.statet.r.core.rhelp.rj.RJREnvIndexUpdater.LocalJob;
+import de.walware.statet.r.core.rhelp.rj.RJREnvIndexUpdater.LocalJobs;
+import de.walware.statet.r.core.rhelp.rj.RJREnvIndexUpdater.PkgTask;
+import de.walware.statet.r.internal.core.rhelp.index.REnvIndexWriter.AbortIndexException;
+
+
+public class RJREnvIndexUpdaterJobsTest {
+	
+	
+	private static class TestJobs extends LocalJobs {
+		
+		
+		private final String abortName;
+		
+		private final AtomicInteger processed= new AtomicInteger();
+		
+		
+		public TestJobs(final int count, final String abortName) {
+			super(count);
+			this.abortName= abortName;
+		}
+		
+		
+		@Override
+		protected LocalJob createJob() {
+			return new LocalJob("Test", this) {
+				
+				@Override
+				protected void processTask(final PkgTask task) throws Exception {
+					if (task.name.equals(TestJobs.this.abortName)) {
+						throw new AbortIndexException(null);
+					}
+					Thread.sleep(5);
+					TestJobs.this.processed.incrementAndGet();
+				}
+				
+				@Override
+				protected void endTask() throws Exception {
+				}
+				
+				@Override
+				protected void handleTaskError(final PkgTask task, final Exception e) {
+				}
+				
+			};
+		}
+		
+	}
+	
+	
+	private final SubMonitor progress= SubMonitor.convert(new NullProgressMonitor());
+	
+	
+	@Test(timeout= 10000)
+	public void finish() throws Exception {
+		final TestJobs jobs= new TestJobs(3, null);
+		jobs.schedule();
+		for (int i= 0; i < 50; i++) {
+			jobs.add(new PkgTask("pkg" + i, null, null, null), this.progress);
+		}
+		jobs.finish(this.progress);
+		
+		Assert.assertEquals(50, jobs.processed.get());
+	}
+	
+	@Test(timeout= 10000)
+	public void abortByWorker() throws Exception {
+		final TestJobs jobs= new TestJobs(3, "pkg10");
+		jobs.schedule();
+		try {
+			for (int i= 0; i < 1000; i++) {
+				jobs.add(new PkgTask("pkg" + i, null, null, null), this.progress);
+			}
+		}
+		catch (final AbortIndexException e) {
+			// expected, the jobs were aborted
+		}
+		try {
+			jobs.finish(this.progress);
+			Assert.fail("CoreException expected");
+		}
+		catch (final CoreException e) {
+			Assert.assertTrue(e.getStatus().getException() instanceof AbortIndexException);
+		}
+		Assert.assertTrue(jobs.processed.get() < 1000);
+	}
+	
+	@Test(timeout= 10000)
+	public void abortAfterAdd() throws Exception {
+		final TestJobs jobs= new TestJobs(2, "pkg9");
+		jobs.schedule();
+		for (int i= 0; i < 10; i++) {
+			jobs.add(new PkgTask("pkg" + i, null, null, null), this.progress);
+		}
+		try {
+			jobs.finish(this.progress);
+			Assert.fail("CoreException expected");
+		}
+		catch (final CoreException e) {
+			Assert.assertTrue(e.getStatus().getException() instanceof AbortIndexException);
+		}
+	}
+	
+}
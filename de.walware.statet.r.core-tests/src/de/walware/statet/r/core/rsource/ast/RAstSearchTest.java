@@ -0,0 +1,78 @@
+/*=============================================================================#
+ # Copyright (c) 2015 Stephan Wahlbrink (WalWare.de) and others.
+ # All rights reserved. This program and the accompanying materials
+ # are made available under the terms of the Eclipse Public License v1.0
+ # which accompanies this distribution, and is available at
+ # http://www.eclipse.org/legal/epl-v10.html
+ # 
+ # Contributors:
+ #     Stephan Wahlbrink - initial API and implementation
+ #=============================================================================*/
+
+package de.walware.statet.r.core.rsource.ast;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.walware.ecommons.ltk.AstInfo;
+import de.walware.ecommons.text.core.input.StringParserInput;
+
+
+public class RAstSearchTest {
+	
+	
+	private static final String CODE= "a <- 1\nf <- function(x) {\n\ty <- x\n\ty + 1\n}\nb <- 2\n";
+	
+	
+	private final StringParserInput input= new StringParserInput();
+	
+	
+	@Test
+	public void findDeepestCommands() {
+		final SourceComponent root= scan(CODE);
+		
+		assertOffsets(new int[] { CODE.indexOf("a <-") },
+				RAst.findDeepestCommands(root, 0, 0) );
+		assertOffsets(new int[] { CODE.indexOf("y <-") },
+				RAst.findDeepestCommands(root, CODE.indexOf("<- x"), CODE.indexOf("<- x")) );
+		assertOffsets(new int[] { CODE.indexOf("y <-"), CODE.indexOf("y +") },
+				RAst.findDeepestCommands(root, CODE.indexOf("<- x"), CODE.indexOf("+ 1")) );
+		assertOffsets(new int[] { CODE.indexOf("a <-"), CODE.indexOf("f <-"), CODE.indexOf("b <-") },
+				RAst.findDeepestCommands(root, 0, CODE.indexOf("b <-") + 1) );
+	}
+	
+	@Test
+	public void findNextCommands() {
+		final SourceComponent root= scan(CODE);
+		
+		Assert.assertEquals(CODE.indexOf("f <-"), RAst.findNextCommands(root, 1).getOffset());
+		Assert.assertEquals(CODE.indexOf("b <-"), RAst.findNextCommands(root, CODE.indexOf("<- x")).getOffset());
+		Assert.assertNull(RAst.findNextCommands(root, CODE.length()));
+	}
+	
+	@Test
+	public void findLowestFDefAssignment() {
+		final SourceComponent root= scan(CODE);
+		
+		Assert.assertEquals(CODE.indexOf("f <-"),
+				RAst.findLowestFDefAssignment(root, CODE.indexOf("<- x")).getOffset() );
+		Assert.assertEquals(CODE.indexOf("f <-"),
+				RAst.findLowestFDefAssignment(root, CODE.indexOf("f <-")).getOffset() );
+		Assert.assertNull(RAst.findLowestFDefAssignment(root, 0));
+		Assert.assertNull(RAst.findLowestFDefAssignment(root, CODE.indexOf("b <-")));
+	}
+	
+	
+	private SourceComponent scan(final String code) {
+		final RScanner scanner= new RScanner(AstInfo.LEVEL_MODEL_DEFAULT);
+		return scanner.scanSourceRange(this.input.reset(code).init(), null);
+	}
+	
+	private void assertOffsets(final int[] expected, final RAstNode[] actual) {
+		Assert.assertEquals(expected.length, actual.length);
+		for (int i= 0; i < expected.length; i++) {
+			Assert.assertEquals(expected[i], actual[i].getOffset());
+		}
+	}
+	
+}
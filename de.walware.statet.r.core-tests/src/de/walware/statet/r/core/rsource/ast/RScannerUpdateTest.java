@@ -0,0 +1,191 @@
+/*=============================================================================#
+ # Copyright (c) 2015 Stephan Wahlbrink (WalWare.de) and others.
+ # All rights reserved. This program and the accompanying materials
+ # are made available under the terms of the Eclipse Public License v1.0
+ # which accompanies this distribution, and is available at
+ # http://www.eclipse.org/legal/epl-v10.html
+ # 
+ # Contributors:
+ #     Stephan Wahlbrink - initial API and implementation
+ #=============================================================================*/
+
+package de.walware.statet.r.core.rsource.ast;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.walware.ecommons.ltk.AstInfo;
+import de.walware.ecommons.text.core.input.StringParserInput;
+
+
+public class RScannerUpdateTest {
+	
+	
+	private final StringParserInput input= new StringParserInput();
+	
+	
+	@Test
+	public void changeInside() {
+		assertUpdate(
+				"a <- 1\nb <- function(x) {\n\tx + 1\n}\nc <- 3\n",
+				"a <- 1\nb <- function(x, y) {\n\tx + y\n}\nc <- 3\n",
+				true );
+	}
+	
+	@Test
+	public void insertLine() {
+		assertUpdate(
+				"a <- 1\nb <- 2\nc <- 3\n",
+				"a <- 1\nb <- 2\nd <- c(1, 2)\nc <- 3\n",
+				true );
+	}
+	
+	@Test
+	public void deleteLine() {
+		assertUpdate(
+				"a <- 1\nb <- 2\nc <- 3\nd <- 4\n",
+				"a <- 1\nc <- 3\nd <- 4\n",
+				true );
+	}
+	
+	@Test
+	public void withComments() {
+		assertUpdate(
+				"# first\na <- 1 # a\n#' Doc\n#' @param x\nf <- function(x) x\ng <- 2\n# last\n",
+				"# first\na <- 1 # a\n#' Doc\n#' @param x\nf <- function(x) x * 2\ng <- 2\n# last\n",
+				true );
+		assertUpdate(
+				"a <- 1\n#' Doc\nb <- 2\n#' Doc\nf <- function(x) x\n",
+				"a <- 10\n#' Doc\nb <- 2\n#' Doc\nf <- function(x) x\n",
+				true );
+	}
+	
+	@Test
+	public void crossExpressions() {
+		assertUpdate(
+				"a <- 1\nb <- 2\nc <- 3\n",
+				"a <- 1\nb <- \nc <- 3\n",
+				false );
+		assertUpdate(
+				"a <- 1\nb <- {\n}\nc <- 3\n",
+				"a <- 1\nb <- {\n\nc <- 3\n",
+				false );
+		assertUpdate(
+				"a <- 1\nb <- 'x'\nc <- 3\n",
+				"a <- 1\nb <- 'x\nc <- 3\n",
+				false );
+	}
+	
+	@Test
+	public void shiftCallArgs() {
+		assertUpdate(
+				"a <- 1\nb <- c(1, 2, 3)\nf(x, y = 2, , z)\n",
+				"a <- 100\nb <- c(1, 2, 3)\nf(x, y = 2, , z)\n",
+				true );
+		assertUpdate(
+				"f(x, y)\na <- 1\ng(1, 2)\n",
+				"f(x, y)\na <- \n\t1\ng(1, 2)\n",
+				true );
+	}
+	
+	@Test
+	public void joinExpressions() {
+		assertUpdate(
+				"a <- 1\nb <- 2\nc <- 3\n",
+				"a <- 1\nb <- 2 + c <- 3\n",
+				true );
+	}
+	
+	
+	private RScanner createScanner() {
+		final RScanner scanner= new RScanner(AstInfo.LEVEL_MODEL_DEFAULT);
+		scanner.setCommentLevel(100);
+		return scanner;
+	}
+	
+	private void assertUpdate(final String prevCode, final String code, final boolean incremental) {
+		final SourceComponent prevComponent= createScanner().scanSourceRange(
+				this.input.reset(prevCode).init(), null );
+		final SourceComponent expected= createScanner().scanSourceRange(
+				this.input.reset(code).init(), null );
+		
+		int prefix= 0;
+		while (prefix < Math.min(prevCode.length(), code.length())
+				&& prevCode.charAt(prefix) == code.charAt(prefix)) {
+			prefix++;
+		}
+		int suffix= 0;
+		while (suffix < Math.min(prevCode.length(), code.length()) - prefix
+				&& prevCode.charAt(prevCode.length() - 1 - suffix) == code.charAt(code.length() - 1 - suffix)) {
+			suffix++;
+		}
+		
+		final SourceComponent actual= createScanner().updateSourceRange(
+				this.input.reset(code).init(), prevComponent,
+				prefix, prevCode.length() - suffix, code.length() - suffix );
+		
+		// the previous AST must not be changed by the update
+		final SourceComponent prevExpected= createScanner().scanSourceRange(
+				this.input.reset(prevCode).init(), null );
+		assertNode(prevExpected, prevComponent);
+		for (int i= 0; i < prevComponent.getChildCount(); i++) {
+			Assert.assertSame(prevComponent, prevComponent.getChild(i).getRParent());
+		}
+		assertComments(prevExpected.getComments(), prevComponent.getComments());
+		
+		if (!incremental) {
+			if (actual != null) {
+				assertNode(expected, actual);
+			}
+			return;
+		}
+		Assert.assertNotNull(actual);
+		assertNode(expected, actual);
+		for (int i= 0; i < actual.getChildCount(); i++) {
+			Assert.assertSame(actual, actual.getChild(i).getRParent());
+		}
+		assertComments(expected.getComments(), actual.getComments());
+	}
+	
+	private void assertNode(final RAstNode expected, final RAstNode actual) {
+		Assert.assertEquals(expected.getNodeType(), actual.getNodeType());
+		Assert.assertEquals(expected.getOffset(), actual.getOffset());
+		Assert.assertEquals(expected.getEndOffset(), actual.getEndOffset());
+		Assert.assertEquals(expected.getStatusCode(), actual.getStatusCode());
+		if (expected.getNodeType() == NodeType.F_CALL_ARGS) {
+			assertSeparators((FCall.Args) expected, (FCall.Args) actual);
+		}
+		final RAstNode[] expectedChildren= expected.getChildren();
+		final RAstNode[] actualChildren= actual.getChildren();
+		Assert.assertEquals(expectedChildren.length, actualChildren.length);
+		for (int i= 0; i < expectedChildren.length; i++) {
+			assertNode(expectedChildren[i], actualChildren[i]);
+		}
+	}
+	
+	private void assertSeparators(final FCall.Args expected, final FCall.Args actual) {
+		final int count= (expected.fSepList != null) ? expected.fSepList.size() : 0;
+		Assert.assertEquals(count, (actual.fSepList != null) ? actual.fSepList.size() : 0);
+		for (int i= 0; i < count; i++) {
+			Assert.assertEquals(expected.getSeparatorOffset(i), actual.getSeparatorOffset(i));
+		}
+	}
+	
+	private void assertComments(final List<RAstNode> expected, final List<RAstNode> actual) {
+		Assert.assertEquals(expected.size(), actual.size());
+		for (int i= 0; i < expected.size(); i++) {
+			final RAstNode expectedComment= expected.get(i);
+			final RAstNode actualComment= actual.get(i);
+			Assert.assertEquals(expectedComment.getNodeType(), actualComment.getNodeType());
+			Assert.assertEquals(expectedComment.getOffset(), actualComment.getOffset());
+			Assert.assertEquals(expectedComment.getEndOffset(), actualComment.getEndOffset());
+			if (expectedComment instanceof DocuComment) {
+				Assert.assertEquals(((DocuComment) expectedComment).getSubsequentNodeOffset(),
+						((DocuComment) actualComment).getSubsequentNodeOffset() );
+			}
+		}
+	}
+	
+}
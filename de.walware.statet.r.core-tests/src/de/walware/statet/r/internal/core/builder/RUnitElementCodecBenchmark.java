@@ -0,0 +1,93 @@
+/*=============================================================================#
+ # Copyright (c) 2015 Stephan Wahlbrink (WalWare.de) and others.
+ # All rights reserved. This program and the accompanying materials
+ # are made available under the terms of the Eclipse Public License v1.0
+ # which accompanies this distribution, and is available at
+ # http://www.eclipse.org/legal/epl-v10.html
+ # 
+ # Contributors:
+ #     Stephan Wahlbrink - initial API and implementation
+ #=============================================================================*/
+
+package de.walware.statet.r.internal.core.builder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+
+
+/**
+ * Compares the binary format of {@link RUnitElementCodec} with the Java serialization used
+ * up to index version 17.
+ * 
+ * Prints the size of the data and the encode/decode throughput (units per second).
+ */
+public class RUnitElementCodecBenchmark {
+	
+	
+	private static final int ELEMENTS= 50;
+	
+	private static final int WARMUP= 20000;
+	private static final int RUNS= 100000;
+	
+	
+	public static void main(final String[] args) throws Exception {
+		final RUnitElement unitElement= RUnitElementCodecTest.createUnitElement(ELEMENTS);
+		
+		final byte[] serialized= saveSerialized(unitElement);
+		final byte[] encoded= save(unitElement);
+		System.out.println("Unit with " + ELEMENTS + " elements");
+		System.out.println("size       : serialized= " + serialized.length + " bytes, encoded= " + encoded.length + " bytes");
+		
+		for (int i= 0; i < WARMUP; i++) {
+			saveSerialized(unitElement);
+			save(unitElement);
+			RUnitElement.readSerialized(new ByteArrayInputStream(serialized));
+			RUnitElement.read(null, null, new ByteArrayInputStream(encoded));
+		}
+		
+		long t= System.nanoTime();
+		for (int i= 0; i < RUNS; i++) {
+			saveSerialized(unitElement);
+		}
+		final long serializedEncode= System.nanoTime() - t;
+		t= System.nanoTime();
+		for (int i= 0; i < RUNS; i++) {
+			save(unitElement);
+		}
+		final long encode= System.nanoTime() - t;
+		t= System.nanoTime();
+		for (int i= 0; i < RUNS; i++) {
+			RUnitElement.readSerialized(new ByteArrayInputStream(serialized));
+		}
+		final long serializedDecode= System.nanoTime() - t;
+		t= System.nanoTime();
+		for (int i= 0; i < RUNS; i++) {
+			RUnitElement.read(null, null, new ByteArrayInputStream(encoded));
+		}
+		final long decode= System.nanoTime() - t;
+		
+		System.out.println("encode     : serialized= " + throughput(serializedEncode) + " units/s, encoded= " + throughput(encode) + " units/s");
+		System.out.println("decode     : serialized= " + throughput(serializedDecode) + " units/s, encoded= " + throughput(decode) + " units/s");
+	}
+	
+	private static byte[] saveSerialized(final RUnitElement unitElement) throws IOException {
+		final ByteArrayOutputStream output= new ByteArrayOutputStream();
+		final ObjectOutputStream o= new ObjectOutputStream(output);
+		o.writeObject(unitElement);
+		o.flush();
+		return output.toByteArray();
+	}
+	
+	private static byte[] save(final RUnitElement unitElement) throws IOException {
+		final ByteArrayOutputStream output= new ByteArrayOutputStream();
+		unitElement.save(output);
+		return output.toByteArray();
+	}
+	
+	private static long throughput(final long nanos) {
+		return (RUNS * 1000000000L) / nanos;
+	}
+	
+}
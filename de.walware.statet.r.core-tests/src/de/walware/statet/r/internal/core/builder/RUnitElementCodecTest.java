@@ -0,0 +1,141 @@
+/*=============================================================================#
+ # Copyright (c) 2015 Stephan Wahlbrink (WalWare.de) and others.
+ # All rights reserved. This program and the accompanying materials
+ # are made available under the terms of the Eclipse Public License v1.0
+ # which accompanies this distribution, and is available at
+ # http://www.eclipse.org/legal/epl-v10.html
+ # 
+ # Contributors:
+ #     Stephan Wahlbrink - initial API and implementation
+ #=============================================================================*/
+
+package de.walware.statet.r.internal.core.builder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.walware.statet.r.core.model.ArgsBuilder;
+import de.walware.statet.r.core.model.ArgsDefinition;
+import de.walware.statet.r.core.model.IRElement;
+import de.walware.statet.r.core.model.IRLangElement;
+import de.walware.statet.r.core.model.RElementName;
+
+
+public class RUnitElementCodecTest {
+	
+	
+	static RUnitElement createUnitElement(final int count) {
+		final List<IRLangElement> elements= new ArrayList<>(count);
+		final RUnitElement unitElement= new RUnitElement(null, elements);
+		for (int i= 0; i < count; i++) {
+			final ExportedRElement element;
+			switch (i % 3) {
+			case 0: {
+				final ExportedRMethod method= new ExportedRMethod();
+				method.fElementType= IRElement.R_COMMON_FUNCTION;
+				method.fArgs= new ArgsBuilder()
+						.add("x")
+						.add("data", ArgsDefinition.CLASS_NAME, "data.frame")
+						.add("...")
+						.toDef();
+				element= method;
+				break;
+			}
+			case 1: {
+				final ExportedRClass clazz= new ExportedRClass();
+				clazz.fElementType= IRElement.R_S4CLASS;
+				clazz.fSuperClassNames= Arrays.asList("numeric", "data.frame");
+				element= clazz;
+				break;
+			}
+			default:
+				element= new ExportedRElement();
+				element.fElementType= IRElement.R_GENERAL_VARIABLE;
+				break;
+			}
+			element.fParent= unitElement;
+			element.fElementName= RElementName.create(RElementName.MAIN_DEFAULT, "obj" + (i / 2),
+					RElementName.create(RElementName.SUB_NAMEDPART, "part", i, null) );
+			element.fElementId= "element" + i;
+			element.fSourceOffset= i * 100;
+			element.fSourceLength= 90;
+			element.fNameOffset= (i % 4 == 0) ? -1 : i * 100;
+			element.fNameLength= (i % 4 == 0) ? 0 : 3;
+			elements.add(element);
+		}
+		return unitElement;
+	}
+	
+	
+	@Test
+	public void empty() throws IOException {
+		final RUnitElement expected= createUnitElement(0);
+		
+		final RUnitElement actual= writeRead(expected);
+		Assert.assertEquals(0, actual.fElements.size());
+	}
+	
+	@Test
+	public void elements() throws IOException {
+		final RUnitElement expected= createUnitElement(100);
+		
+		final RUnitElement actual= writeRead(expected);
+		Assert.assertEquals(expected.fElements.size(), actual.fElements.size());
+		for (int i= 0; i < expected.fElements.size(); i++) {
+			assertElement((ExportedRElement) expected.fElements.get(i),
+					(ExportedRElement) actual.fElements.get(i) );
+			Assert.assertSame(actual, actual.fElements.get(i).getModelParent());
+		}
+	}
+	
+	@Test(expected= IOException.class)
+	public void invalid() throws IOException {
+		final ByteArrayOutputStream output= new ByteArrayOutputStream();
+		createUnitElement(10).save(output);
+		final byte[] bytes= Arrays.copyOf(output.toByteArray(), output.size() / 2);
+		
+		RUnitElement.read(null, null, new ByteArrayInputStream(bytes));
+	}
+	
+	
+	private RUnitElement writeRead(final RUnitElement element) throws IOException {
+		final ByteArrayOutputStream output= new ByteArrayOutputStream();
+		element.save(output);
+		return RUnitElement.read(null, null, new ByteArrayInputStream(output.toByteArray()));
+	}
+	
+	private void assertElement(final ExportedRElement expected, final ExportedRElement actual) {
+		Assert.assertEquals(expected.getClass(), actual.getClass());
+		Assert.assertEquals(expected.getElementType(), actual.getElementType());
+		Assert.assertEquals(expected.getElementName(), actual.getElementName());
+		Assert.assertEquals(
+				((RElementName.IndexElementName) expected.getElementName().getNextSegment()).getIndex(),
+				((RElementName.IndexElementName) actual.getElementName().getNextSegment()).getIndex() );
+		Assert.assertEquals(expected.getId(), actual.getId());
+		Assert.assertEquals(expected.getSourceRange(), actual.getSourceRange());
+		Assert.assertEquals(expected.getNameSourceRange(), actual.getNameSourceRange());
+		if (expected instanceof ExportedRMethod) {
+			final ArgsDefinition expectedArgs= ((ExportedRMethod) expected).getArgsDefinition();
+			final ArgsDefinition actualArgs= ((ExportedRMethod) actual).getArgsDefinition();
+			Assert.assertEquals(expectedArgs.size(), actualArgs.size());
+			for (int i= 0; i < expectedArgs.size(); i++) {
+				Assert.assertEquals(expectedArgs.get(i).index, actualArgs.get(i).index);
+				Assert.assertEquals(expectedArgs.get(i).name, actualArgs.get(i).name);
+				Assert.assertEquals(expectedArgs.get(i).type, actualArgs.get(i).type);
+				Assert.assertEquals(expectedArgs.get(i).className, actualArgs.get(i).className);
+			}
+		}
+		if (expected instanceof ExportedRClass) {
+			Assert.assertEquals(((ExportedRClass) expected).getExtendedClassNames(),
+					((ExportedRClass) actual).getExtendedClassNames() );
+		}
+	}
+	
+}
@@ -0,0 +1,245 @@
+/*=============================================================================#
+ # Copyright (c) 2015 Stephan Wahlbrink (WalWare.de) and others.
+ # All rights reserved. This program and the accompanying materials
+ # are made available under the terms of the Eclipse Public License v1.0
+ # which accompanies this distribution, and is available at
+ # http://www.eclipse.org/legal/epl-v10.html
+ # 
+ # Contributors:
+ #     Stephan Wahlbrink - initial API and implementation
+ #=============================================================================*/
+
+package de.walware.statet.r.internal.core.rhelp.index;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexWriterConfig.OpenMode;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.store.SimpleFSDirectory;
+import org.apache.lucene.util.Version;
+
+import de.walware.statet.r.core.rhelp.IRPkgHelp;
+import de.walware.statet.r.internal.core.rhelp.RHelpPage;
+import de.walware.statet.r.internal.core.rhelp.RPkgHelp;
+
+
+/**
+ * Compares the latency of {@link REnvIndexReader#getHtmlPage} (hover) and topic/highlight
+ * searches (search view) under concurrent load for the directory implementations.
+ * 
+ * The hover threads are interrupted continuously, like by the information hover manager.
+ * 
+ * Prints the average and max latency (microseconds) and the number of requests.
+ */
+public class REnvIndexReaderBenchmark implements IREnvIndex {
+	
+	
+	private static final int PACKAGES= 50;
+	private static final int PAGES= 100;
+	
+	private static final int HOVER_THREADS= 4;
+	private static final int SEARCH_THREADS= 2;
+	
+	private static final long DURATION= 10000;
+	
+	
+	private static class Stats {
+		
+		private long count;
+		private long sum;
+		private long max;
+		private long errors;
+		
+		void add(final long nanos) {
+			this.count++;
+			this.sum+= nanos;
+			if (nanos > this.max) {
+				this.max= nanos;
+			}
+		}
+		
+		synchronized void add(final Stats other) {
+			this.count+= other.count;
+			this.sum+= other.sum;
+			this.max= Math.max(this.max, other.max);
+			this.errors+= other.errors;
+		}
+		
+		@Override
+		public String toString() {
+			return "avg= " + ((this.count > 0) ? (this.sum / this.count / 1000) : 0) + " us" +
+					", max= " + (this.max / 1000) + " us" +
+					", requests= " + this.count +
+					", errors= " + this.errors;
+		}
+		
+	}
+	
+	private static abstract class LoadThread extends Thread {
+		
+		protected final REnvIndexReader reader;
+		
+		protected final Random random= new Random();
+		
+		private final Stats stats;
+		
+		private volatile boolean stopped;
+		
+		public LoadThread(final REnvIndexReader reader, final Stats stats) {
+			this.reader= reader;
+			this.stats= stats;
+		}
+		
+		@Override
+		public void run() {
+			final Stats local= new Stats();
+			while (!this.stopped) {
+				final long t= System.nanoTime();
+				try {
+					request();
+					local.add(System.nanoTime() - t);
+				}
+				catch (final RuntimeException e) {
+					local.errors++;
+				}
+				Thread.interrupted();
+			}
+			this.stats.add(local);
+		}
+		
+		protected abstract void request();
+		
+	}
+	
+	
+	public static void main(final String[] args) throws Exception {
+		final File indexDirectory= File.createTempFile("rhelp", "index"); //$NON-NLS-1$ //$NON-NLS-2$
+		indexDirectory.delete();
+		indexDirectory.mkdirs();
+		try {
+			createIndex(indexDirectory);
+			final Map<String, IRPkgHelp> packageMap= createPackageMap();
+			
+			System.out.println("Index with " + PACKAGES + " packages, " + PAGES + " pages per package");
+			run("SimpleFSDirectory", new SimpleFSDirectory(indexDirectory, null), packageMap);
+			final FSDirectory directory= REnvIndexReader.openDirectory(indexDirectory);
+			run(directory.getClass().getSimpleName(), directory, packageMap);
+		}
+		finally {
+			for (final File file : indexDirectory.listFiles()) {
+				file.delete();
+			}
+			indexDirectory.delete();
+		}
+	}
+	
+	private static void createIndex(final File indexDirectory) throws IOException {
+		final IndexWriterConfig config= new IndexWriterConfig(Version.LATEST, new WriteAnalyzer());
+		config.setOpenMode(OpenMode.CREATE);
+		config.setSimilarity(SIMILARITY);
+		try (final IndexWriter writer= new IndexWriter(new SimpleFSDirectory(indexDirectory, null), config)) {
+			final StringBuilder sb= new StringBuilder();
+			for (int i= 0; i < PACKAGES; i++) {
+				for (int j= 0; j < PAGES; j++) {
+					sb.setLength(0);
+					sb.append("<h2>Page ").append(j).append("</h2>\n"); //$NON-NLS-1$ //$NON-NLS-2$
+					for (int k= 0; k < 200; k++) {
+						sb.append("<p>Lorem ipsum dolor sit amet, consectetur adipisici elit, " //$NON-NLS-1$
+								+ "sed eiusmod tempor incidunt ut labore et dolore magna aliqua ") //$NON-NLS-1$
+								.append(k).append(" topic").append(j).append("</p>\n"); //$NON-NLS-1$ //$NON-NLS-2$
+					}
+					final Document doc= new Document();
+					doc.add(new FlagField(DOCTYPE_FIELD_NAME, PAGE_DOCTYPE));
+					addField(doc, new NameField(PACKAGE_FIELD_NAME), "pkg" + i); //$NON-NLS-1$
+					addField(doc, new NameField(PAGE_FIELD_NAME), "page" + j); //$NON-NLS-1$
+					addField(doc, new NameField(ALIAS_FIELD_NAME), "topic" + j); //$NON-NLS-1$
+					addField(doc, new TxtField(TITLE_TXT_FIELD_NAME), "Page " + j); //$NON-NLS-1$
+					addField(doc, new TxtField.OmitNorm(DOC_HTML_FIELD_NAME), sb.toString());
+					writer.addDocument(doc);
+				}
+			}
+		}
+	}
+	
+	private static void addField(final Document doc, final StringDataField field, final String value) {
+		field.setStringValue(value);
+		doc.add(field);
+	}
+	
+	private static Map<String, IRPkgHelp> createPackageMap() {
+		final Map<String, IRPkgHelp> packageMap= new HashMap<>();
+		for (int i= 0; i < PACKAGES; i++) {
+			final RPkgHelp pkgHelp= new RPkgHelp("pkg" + i, "Package " + i, "1.0", null, null); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			for (int j= 0; j < PAGES; j++) {
+				pkgHelp.addPage(new RHelpPage(pkgHelp, "page" + j, "Page " + j)); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			pkgHelp.freeze();
+			packageMap.put(pkgHelp.getName(), pkgHelp);
+		}
+		return packageMap;
+	}
+	
+	private static void run(final String label, final FSDirectory directory,
+			final Map<String, IRPkgHelp> packageMap) throws Exception {
+		final REnvIndexReader reader= new REnvIndexReader(directory);
+		try {
+			final Stats hoverStats= new Stats();
+			final Stats searchStats= new Stats();
+			final LoadThread[] threads= new LoadThread[HOVER_THREADS + SEARCH_THREADS];
+			for (int i= 0; i < HOVER_THREADS; i++) {
+				threads[i]= new LoadThread(reader, hoverStats) {
+					@Override
+					protected void request() {
+						this.reader.getHtmlPage("pkg" + this.random.nextInt(PACKAGES), //$NON-NLS-1$
+								"page" + this.random.nextInt(PAGES), null, null, null ); //$NON-NLS-1$
+					}
+				};
+			}
+			for (int i= HOVER_THREADS; i < threads.length; i++) {
+				threads[i]= new LoadThread(reader, searchStats) {
+					@Override
+					protected void request() {
+						final String topic= "topic" + this.random.nextInt(PAGES); //$NON-NLS-1$
+						this.reader.getPagesForTopic(topic, packageMap);
+						this.reader.getHtmlPage("pkg" + this.random.nextInt(PACKAGES), //$NON-NLS-1$
+								"page" + this.random.nextInt(PAGES), topic, //$NON-NLS-1$
+								new String[] { "<b>" }, new String[] { "</b>" } ); //$NON-NLS-1$ //$NON-NLS-2$
+					}
+				};
+			}
+			
+			for (final LoadThread thread : threads) {
+				thread.start();
+			}
+			final long end= System.currentTimeMillis() + DURATION;
+			while (System.currentTimeMillis() < end) {
+				for (int i= 0; i < HOVER_THREADS; i++) {
+					threads[i].interrupt();
+				}
+				Thread.sleep(1);
+			}
+			for (final LoadThread thread : threads) {
+				thread.stopped= true;
+			}
+			for (final LoadThread thread : threads) {
+				thread.join();
+			}
+			
+			System.out.println(label);
+			System.out.println("  hover : " + hoverStats);
+			System.out.println("  search: " + searchStats);
+		}
+		finally {
+			reader.dispose();
+			directory.close();
+		}
+	}
+	
+}
@@ -0,0 +1,37 @@
+/*=============================================================================#
+ # Copyright (c) 2015 Stephan Wahlbrink (WalWare.de) and others.
+ # All rights reserved. This program and the accompanying materials
+ # are made available under the terms of the Eclipse Public License v1.0
+ # which accompanies this distribution, and is available at
+ # http://www.eclipse.org/legal/epl-v10.html
+ # 
+ # Contributors:
+ #     Stephan Wahlbrink - initial API and implementation
+ #=============================================================================*/
+
+package de.walware.statet.r.core.model;
+
+import java.util.List;
+
+import de.walware.ecommons.ltk.core.model.IModelElement;
+
+
+/**
+ * Frame with an index of its model children by name.
+ * 
+ * @see RNamePrefixIndex
+ */
+public interface IRIndexedFrame extends IRFrame {
+	
+	/**
+	 * Returns the model children which are candidates for the specified name prefix.
+	 * 
+	 * The candidates must be checked by {@link de.walware.statet.r.core.RSymbolComparator.PrefixPattern}.
+	 * 
+	 * @param namePrefix the name prefix
+	 * @param filter optional filter
+	 * @return the candidates
+	 */
+	List<? extends IRLangElement> getModelChildrenByPrefix(String namePrefix, IModelElement.Filter filter);
+	
+}
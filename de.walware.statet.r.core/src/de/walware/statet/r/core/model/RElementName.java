@@ -462,6 +462,38 @@ public abstract class RElementName implements IElementName {
 		return new DualImpl(type, segmentName, idx);
 	}
 	
+	/**
+	 * Creates a new element name with the specified segment as first segment, followed by
+	 * the specified segments.
+	 * 
+	 * @param type the type of the segment
+	 * @param segmentName the name of the segment
+	 * @param next the next segment or <code>null</code>
+	 * @return the element name
+	 */
+	public static RElementName create(final int type, final String segmentName,
+			final RElementName next) {
+		return new DefaultImpl(type, segmentName, next);
+	}
+	
+	/**
+	 * Creates a new element name with the specified indexed segment as first segment, followed by
+	 * the specified segments.
+	 * 
+	 * @param type the type of the segment
+	 * @param segmentName the name of the segment
+	 * @param idx the index of the segment
+	 * @param next the next segment or <code>null</code>
+	 * @return the element name
+	 */
+	public static RElementName create(final int type, final String segmentName, final int idx,
+			final RElementName next) {
+		if (!(type == SUB_NAMEDPART || type == SUB_INDEXED_D)) {
+			throw new IllegalArgumentException();
+		}
+		return new DualImpl(type, segmentName, idx, next);
+	}
+	
 	public static RElementName parseDefault(final String code) {
 		final RLexer lexer= new RLexer((RLexer.DEFAULT |
 						RLexer.SKIP_WHITESPACE | RLexer.SKIP_LINEBREAK | RLexer.SKIP_COMMENT ));
@@ -0,0 +1,196 @@
+/*=============================================================================#
+ # Copyright (c) 2015 Stephan Wahlbrink (WalWare.de) and others.
+ # All rights reserved. This program and the accompanying materials
+ # are made available under the terms of the Eclipse Public License v1.0
+ # which accompanies this distribution, and is available at
+ # http://www.eclipse.org/legal/epl-v10.html
+ # 
+ # Contributors:
+ #     Stephan Wahlbrink - initial API and implementation
+ #=============================================================================*/
+
+package de.walware.statet.r.core.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import de.walware.statet.r.core.RSymbolComparator;
+
+
+/**
+ * Immutable index of items by name for prefix queries.
+ * 
+ * The names are indexed by a normalized key (lower case, without '.' and '_' except the first
+ * character) in sorted order, so that the candidates for a {@link RSymbolComparator.PrefixPattern}
+ * can be found by binary search. The candidates are a superset of the matching items, the
+ * pattern must be checked for each candidate.
+ * 
+ * @param <E> type of the items
+ */
+public final class RNamePrefixIndex<E> {
+	
+	
+	private static final RNamePrefixIndex<?> EMPTY= new RNamePrefixIndex<>(new String[0], new Object[0]);
+	
+	private static final Comparator<Object[]> KEY_COMPARATOR= new Comparator<Object[]>() {
+		@Override
+		public int compare(final Object[] o1, final Object[] o2) {
+			return ((String) o1[0]).compareTo((String) o2[0]);
+		}
+	};
+	
+	
+	/**
+	 * Returns the normalized key for the specified name or prefix.
+	 * 
+	 * @param name the name
+	 * @return the key
+	 */
+	public static String createKey(final String name) {
+		final int length= name.length();
+		final StringBuilder sb= new StringBuilder(length);
+		if (length > 0) {
+			sb.append(Character.toLowerCase(name.charAt(0)));
+			for (int i= 1; i < length; i++) {
+				final char c= name.charAt(i);
+				if (c != '.' && c != '_') {
+					sb.append(Character.toLowerCase(c));
+				}
+			}
+		}
+		return sb.toString();
+	}
+	
+	@SuppressWarnings("unchecked")
+	public static <E> RNamePrefixIndex<E> emptyIndex() {
+		return (RNamePrefixIndex<E>) EMPTY;
+	}
+	
+	/**
+	 * Creates an index of the elements by the segment name of their element name.
+	 * 
+	 * @param elements the elements
+	 * @return the index
+	 */
+	public static <E extends IRElement> RNamePrefixIndex<E> forElements(final Collection<? extends E> elements) {
+		final List<Object[]> entries= new ArrayList<>(elements.size());
+		for (final E element : elements) {
+			final RElementName elementName= element.getElementName();
+			final String name= (elementName != null) ? elementName.getSegmentName() : null;
+			if (name != null) {
+				entries.add(new Object[] { createKey(name), element });
+			}
+		}
+		return create(entries);
+	}
+	
+	/**
+	 * Creates an index of the names.
+	 * 
+	 * @param names the names
+	 * @return the index
+	 */
+	public static RNamePrefixIndex<String> forNames(final Collection<String> names) {
+		final List<Object[]> entries= new ArrayList<>(names.size());
+		for (final String name : names) {
+			if (name != null) {
+				entries.add(new Object[] { createKey(name), name });
+			}
+		}
+		return create(entries);
+	}
+	
+	/**
+	 * Creates an index of the items by the specified names.
+	 * 
+	 * @param names the names
+	 * @param items the items, in the order of the names
+	 * @return the index
+	 */
+	public static <E> RNamePrefixIndex<E> forNames(final List<String> names, final List<? extends E> items) {
+		final List<Object[]> entries= new ArrayList<>(names.size());
+		for (int i= 0; i < names.size(); i++) {
+			final String name= names.get(i);
+			if (name != null) {
+				entries.add(new Object[] { createKey(name), items.get(i) });
+			}
+		}
+		return create(entries);
+	}
+	
+	private static <E> RNamePrefixIndex<E> create(final List<Object[]> entries) {
+		if (entries.isEmpty()) {
+			return emptyIndex();
+		}
+		final Object[][] array= entries.toArray(new Object[entries.size()][]);
+		Arrays.sort(array, KEY_COMPARATOR);
+		final String[] keys= new String[array.length];
+		final Object[] items= new Object[array.length];
+		for (int i= 0; i < array.length; i++) {
+			keys[i]= (String) array[i][0];
+			items[i]= array[i][1];
+		}
+		return new RNamePrefixIndex<>(keys, items);
+	}
+	
+	
+	private final String[] keys;
+	private final Object[] items;
+	
+	
+	private RNamePrefixIndex(final String[] keys, final Object[] items) {
+		this.keys= keys;
+		this.items= items;
+	}
+	
+	
+	public int size() {
+		return this.items.length;
+	}
+	
+	/**
+	 * Returns the candidates for the specified name prefix.
+	 * 
+	 * @param namePrefix the prefix, not normalized
+	 * @return unmodifiable list of the candidates
+	 */
+	@SuppressWarnings("unchecked")
+	public List<E> getCandidates(final String namePrefix) {
+		final String key= createKey(namePrefix);
+		final int begin;
+		final int end;
+		if (key.isEmpty()) {
+			begin= 0;
+			end= this.items.length;
+		}
+		else {
+			begin= lowerBound(key);
+			end= lowerBound(key + Character.MAX_VALUE);
+		}
+		if (begin >= end) {
+			return Collections.emptyList();
+		}
+		return Collections.unmodifiableList(
+				(List<E>) Arrays.asList(this.items).subList(begin, end) );
+	}
+	
+	private int lowerBound(final String key) {
+		int low= 0;
+		int high= this.keys.length;
+		while (low < high) {
+			final int mid= (low + high) >>> 1;
+			if (this.keys[mid].compareTo(key) < 0) {
+				low= mid + 1;
+			}
+			else {
+				high= mid;
+			}
+		}
+		return low;
+	}
+	
+}
@@ -14,10 +14,12 @@ package de.walware.statet.r.core.rhelp.rj;
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.InputStreamReader;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -33,6 +35,7 @@ import de.walware.rj.data.RList;
 import de.walware.rj.data.RObject;
 import de.walware.rj.data.RStore;
 import de.walware.rj.data.RVector;
+import de.walware.rj.data.defaultImpl.RObjectFactoryImpl;
 import de.walware.rj.renv.IRPkgDescription;
 import de.walware.rj.renv.RNumVersion;
 import de.walware.rj.renv.RPkgDescription;
@@ -48,6 +51,7 @@ import de.walware.statet.r.core.renv.IREnvConfiguration;
 import de.walware.statet.r.internal.core.rhelp.RHelpWebapp;
 import de.walware.statet.r.internal.core.rhelp.index.REnvIndexWriter;
 import de.walware.statet.r.internal.core.rhelp.index.REnvIndexWriter.AbortIndexException;
+import de.walware.statet.r.internal.core.rhelp.index.REnvIndexWriter.PackageWorker;
 import de.walware.statet.r.internal.core.rhelp.index.REnvIndexWriter.RdItem;
 
 
@@ -70,19 +74,29 @@ public class RJREnvIndexUpdater {
 	
 	private static final String PKG_RD_FNAME= "rj:::.rhelp.loadPkgRd"; //$NON-NLS-1$
 	
+	private static final String PKG_RD_HASH_FNAME= "tools::md5sum"; //$NON-NLS-1$
+	
+	/**
+	 * Max number of jobs converting and indexing the package data. The data is always
+	 * transfered from R by the calling thread.
+	 */
+	private static final int MAX_WORKERS= 4;
+	
 	
 	private static String checkNA2Null(final String s) {
 		return (s != null && !s.equals("NA") && s.length() > 0) ? s : null; //$NON-NLS-1$
 	}
 	
 	
-	private static class PkgTask {
+	static class PkgTask {
 		
 		final String name;
 		final RNumVersion version;
 		final String built;
 		final String libPath; // for error messages
 		
+		String rdHash;
+		
 		RVector<RCharacterStore> rDescr;
 		
 		RList rRd;
@@ -109,21 +123,34 @@ public class RJREnvIndexUpdater {
 		
 	}
 	
-	private static final PkgTask FINISH= new PkgTask(null, null, null, null);
+	static final PkgTask FINISH= new PkgTask(null, null, null, null);
 	
 	
-	private class LocalJob extends Job {
+	static abstract class LocalJobs {
+		
 		
+		private final BlockingQueue<PkgTask> queue;
 		
-		private final BlockingQueue<PkgTask> queue= new ArrayBlockingQueue<>(4);
+		private final LocalJob[] jobs;
 		
 		private volatile Exception exception;
 		
 		
-		public LocalJob() {
-			super(NLS.bind("Update R help index for ''{0}''", RJREnvIndexUpdater.this.rEnvConfig.getName()));
-			setPriority(Job.LONG);
-			setSystem(true);
+		public LocalJobs(final int count) {
+			this.queue= new ArrayBlockingQueue<>(2 * count + 2);
+			this.jobs= new LocalJob[count];
+			for (int i= 0; i < count; i++) {
+				this.jobs[i]= createJob();
+			}
+		}
+		
+		
+		protected abstract LocalJob createJob();
+		
+		public void schedule() {
+			for (final LocalJob job : this.jobs) {
+				job.schedule();
+			}
 		}
 		
 		public void add(final PkgTask task, final SubMonitor progress) throws Exception {
@@ -132,56 +159,126 @@ public class RJREnvIndexUpdater {
 					if (this.exception != null) {
 						throw this.exception;
 					}
-					this.queue.put(task);
-					return;
+					if (this.queue.offer(task, 100, TimeUnit.MILLISECONDS)) {
+						return;
+					}
 				}
 				catch (final InterruptedException e) {
-					if (progress.isCanceled()) {
-						cancel();
-						throw new CoreException(Status.CANCEL_STATUS);
-					}
+				}
+				if (progress.isCanceled()) {
+					cancel(progress);
+					throw new CoreException(Status.CANCEL_STATUS);
 				}
 			}
 		}
 		
 		public void finish(final SubMonitor progress) throws CoreException {
-			while (true) {
+			// one FINISH per job, also after an abort (the jobs may wait for a task)
+			for (int i= 0; i < this.jobs.length; ) {
 				try {
-					this.queue.put(FINISH);
-					join();
-					return;
+					if (this.queue.offer(FINISH, 100, TimeUnit.MILLISECONDS)) {
+						i++;
+						continue;
+					}
 				}
 				catch (final InterruptedException e) {
-					// forward to worker thread
-					final Thread thread= getThread();
-					if (thread != null) {
-						thread.interrupt();
+				}
+				if (this.exception != null) {
+					// the jobs stopped to take tasks
+					discardTasks();
+				}
+				if (progress.isCanceled()) {
+					cancel(progress);
+					throw new CoreException(Status.CANCEL_STATUS);
+				}
+			}
+			for (final LocalJob job : this.jobs) {
+				while (true) {
+					try {
+						job.join();
+						break;
 					}
-					if (progress.isCanceled()) {
-						cancel();
-						throw new CoreException(Status.CANCEL_STATUS);
+					catch (final InterruptedException e) {
+						// forward to worker thread
+						final Thread thread= job.getThread();
+						if (thread != null) {
+							thread.interrupt();
+						}
+						if (progress.isCanceled()) {
+							cancel(progress);
+							throw new CoreException(Status.CANCEL_STATUS);
+						}
 					}
 				}
 			}
+			if (this.exception != null) {
+				throw new CoreException(new Status(IStatus.ERROR, RCore.PLUGIN_ID, -1,
+						"An error occurred when indexing the package data.", this.exception ));
+			}
 		}
 		
 		public void cancel(final SubMonitor progress) {
-			cancel();
-			while (true) {
-				try {
-					join();
-					return;
-				}
-				catch (final InterruptedException e) {
-					// forward to worker thread
-					final Thread thread= getThread();
-					if (thread != null) {
-						thread.interrupt();
+			for (final LocalJob job : this.jobs) {
+				job.cancel();
+			}
+			for (final LocalJob job : this.jobs) {
+				while (true) {
+					try {
+						job.join();
+						break;
+					}
+					catch (final InterruptedException e) {
+						// forward to worker thread
+						final Thread thread= job.getThread();
+						if (thread != null) {
+							thread.interrupt();
+						}
 					}
 				}
 			}
 		}
 		
+		synchronized void abort(final Exception e) {
+			if (this.exception != null) {
+				return;
+			}
+			this.exception= e;
+			
+			// wake up all jobs waiting for a task; the jobs not waiting stop after the current
+			// task because of the exception (no interrupt, it would close the index files)
+			discardTasks();
+			for (int i= 0; i < this.jobs.length; i++) {
+				this.queue.offer(FINISH);
+			}
+		}
+		
+		private void discardTasks() {
+			final List<PkgTask> tasks= new ArrayList<>(this.queue.size());
+			this.queue.drainTo(tasks);
+			for (final PkgTask task : tasks) {
+				if (task == FINISH) {
+					this.queue.offer(FINISH);
+				}
+			}
+		}
+		
+	}
+	
+	static abstract class LocalJob extends Job {
+		
+		
+		private final LocalJobs jobs;
+		
+		
+		public LocalJob(final String name, final LocalJobs jobs) {
+			super(name);
+			setPriority(Job.LONG);
+			setSystem(true);
+			
+			this.jobs= jobs;
+		}
+		
+		
 		@Override
 		protected void canceling() {
 			final Thread thread= getThread();
@@ -191,64 +288,278 @@ public class RJREnvIndexUpdater {
 			super.canceling();
 		}
 		
+		protected abstract void processTask(PkgTask task) throws Exception;
+		
+		protected abstract void endTask() throws Exception;
+		
+		protected abstract void handleTaskError(PkgTask task, Exception e);
+		
 		@Override
 		protected IStatus run(final IProgressMonitor monitor) {
 			try {
 				PkgTask task= null;
 				while (true) {
 					try {
-						task= this.queue.take();
+						task= this.jobs.queue.take();
 						if (task == FINISH) {
 							return Status.OK_STATUS;
 						}
 						
-						final IRPkgDescription pkgDescription= createDescription(task);
-						RJREnvIndexUpdater.this.index.beginPackage(pkgDescription);
-						processRdData(pkgDescription.getName(), task.rRd);
+						processTask(task);
 					}
 					catch (final InterruptedException e) {
 						// continue, monitor is checked
 					}
 					catch (final AbortIndexException e) {
-						this.exception= e;
-						this.queue.clear();
+						this.jobs.abort(e);
 						return Status.CANCEL_STATUS;
 					}
 					catch (final Exception e) {
-						RJREnvIndexUpdater.this.index.log(new Status(IStatus.ERROR, RCore.PLUGIN_ID, -1, 
-								"An error occurred when indexing data for package:\n" + task,
-								e ));
+						handleTaskError(task, e);
 					}
 					finally {
 						try {
-							RJREnvIndexUpdater.this.index.endPackage();
+							endTask();
 						}
 						catch (final Exception e) {
-							this.exception= e;
-							this.queue.clear();
+							this.jobs.abort(e);
 							return Status.CANCEL_STATUS;
 						}
 					}
 					
-					if (monitor.isCanceled()) {
+					if (monitor.isCanceled() || this.jobs.exception != null) {
 						return Status.CANCEL_STATUS;
 					}
 				}
 			}
 			catch (final Exception e) {
-				this.exception= e;
-				this.queue.clear();
+				this.jobs.abort(e);
 				return Status.CANCEL_STATUS;
 			}
 		}
 		
 	}
 	
+	private class PackageJob extends LocalJob {
+		
+		
+		private final PackageWorker worker;
+		
+		private final StringBuilder tempBuilder1= new StringBuilder(65536);
+		private final StringBuilder tempBuilder2= new StringBuilder(1024);
+		
+		
+		public PackageJob(final LocalJobs jobs) {
+			super(NLS.bind("Update R help index for ''{0}''", RJREnvIndexUpdater.this.rEnvConfig.getName()),
+					jobs );
+			
+			this.worker= RJREnvIndexUpdater.this.index.createPackageWorker();
+		}
+		
+		
+		@Override
+		protected void processTask(final PkgTask task) throws Exception {
+			final IRPkgDescription pkgDescription= createDescription(task);
+			if (!this.worker.beginPackage(pkgDescription, task.rdHash)
+					&& task.rRd != null) {
+				processRdData(pkgDescription.getName(), task.rRd);
+			}
+		}
+		
+		@Override
+		protected void endTask() throws Exception {
+			this.worker.endPackage();
+		}
+		
+		@Override
+		protected void handleTaskError(final PkgTask task, final Exception e) {
+			RJREnvIndexUpdater.this.index.log(new Status(IStatus.ERROR, RCore.PLUGIN_ID, -1, 
+					"An error occurred when indexing data for package:\n" + task,
+					e ));
+		}
+		
+		private void processRdData(final String pkgName, final RList pkgList) throws Exception {
+			for (int j= 0; j < pkgList.getLength(); j++) {
+				final RObject rdObj= pkgList.get(j);
+				if (rdObj.getRClassName().equals("RdData")) { //$NON-NLS-1$
+					final RList rdData= (RList) rdObj;
+					final RdItem rdItem= new RdItem(pkgName, pkgList.getName(j));
+					{	final RStore<?> store= rdData.get("title").getData(); //$NON-NLS-1$
+						if (!store.isNA(0)) {
+							rdItem.setTitle(store.getChar(0));
+						}
+					}
+					{	final RStore<?> store= rdData.get("topics").getData(); //$NON-NLS-1$
+						for (int k= 0; k < store.getLength(); k++) {
+							if (!store.isNA(k)) {
+								final String alias= store.getChar(k).trim();
+								if (alias.length() > 0) {
+									rdItem.addTopic(alias);
+								}
+							}
+						}
+					}
+					{	final RStore<?> store= rdData.get("keywords").getData(); //$NON-NLS-1$
+						for (int k= 0; k < store.getLength(); k++) {
+							if (!store.isNA(k)) {
+								final String keyword= store.getChar(k).trim();
+								if (keyword.length() > 0) {
+									rdItem.addKeyword(keyword);
+								}
+							}
+						}
+					}
+					{	final RStore<?> store= rdData.get("concepts").getData(); //$NON-NLS-1$
+						for (int k= 0; k < store.getLength(); k++) {
+							if (!store.isNA(k)) {
+								final String concept= store.getChar(k).trim();
+								if (concept.length() > 0) {
+									rdItem.addConcept(concept);
+								}
+							}
+						}
+					}
+					final RObject htmlObj= rdData.get("HTML"); //$NON-NLS-1$
+					if (htmlObj.getData() != null
+							&& htmlObj.getData().getStoreType() == RStore.CHARACTER) {
+						rdItem.setHtml(processHtml((RCharacterStore) htmlObj.getData()));
+					}
+					this.worker.add(rdItem);
+				}
+			}
+		}
+		
+		@SuppressWarnings("nls")
+		private String processHtml(final RCharacterStore store) {
+			this.tempBuilder1.setLength(0);
+			this.tempBuilder2.setLength(0);
+			int length= 0;
+			for (int i= 0; i < store.getLength(); i++) {
+				if (!store.isNA(i)) {
+					length += store.getChar(i).length() + 2;
+				}
+			}
+			length += 300;
+			int topIndex= -1;
+			boolean inExamples= false;
+			this.tempBuilder2.append("<div class=\"toc\"><ul>");
+			for (int i= 0; i < store.getLength(); i++) {
+				if (!store.isNA(i)) {
+					String line= store.getChar(i);
+					if (topIndex == -1) {
+						if (line.startsWith("<table ")) {
+							this.tempBuilder1.append("<table class=\"header\" ");
+							line= line.substring(7);
+						}
+						else if (line.startsWith("<h2>")) {
+							topIndex= this.tempBuilder1.length();
+							this.tempBuilder1.append("<h2 id=\"top\">");
+							line= line.substring(4);
+						}
+					}
+					else if (topIndex >= 0 && line.length() > 10) {
+						if (line.startsWith("<h3>")) {
+							if (inExamples) {
+								this.tempBuilder1.append(RHelpWebapp.HTML_END_EXAMPLES);
+								inExamples= false;
+							}
+							switch (line.charAt(4)-line.charAt(6)) {
+							case ('D'-'s'):
+								if (line.equals("<h3>Description</h3>")) {
+									this.tempBuilder2.append("<li><a href=\"#description\"><span class=\"mnemonic\">D</span>escription</a></li>"); //$NON-NLS-1$
+									line= "<h3 id=\"description\">Description</h3>";
+									break;
+								}
+								break;
+							case ('U'-'a'):
+								if (line.equals("<h3>Usage</h3>")) {
+									this.tempBuilder2.append("<li><a href=\"#usage\"><span class=\"mnemonic\">U</span>sage</a></li>"); //$NON-NLS-1$
+									line= "<h3 id=\"usage\">Usage</h3>";
+									break;
+								}
+								break;
+							case ('A'-'g'):
+								if (line.equals("<h3>Arguments</h3>")) {
+									this.tempBuilder2.append("<li><a href=\"#arguments\"><span class=\"mnemonic\">A</span>rguments</a></li>"); //$NON-NLS-1$
+									line= "<h3 id=\"arguments\">Arguments</h3>";
+									break;
+								}
+								break;
+							case ('D'-'t'):
+								if (line.equals("<h3>Details</h3>")) {
+									this.tempBuilder2.append("<li><a href=\"#details\">Deta<span class=\"mnemonic\">i</span>ls</a></li>");
+									line= "<h3 id=\"details\">Details</h3>";
+									break;
+								}
+								break;
+							case ('V'-'l'):
+								if (line.equals("<h3>Value</h3>")) {
+									this.tempBuilder2.append("<li><a href=\"#value\"><span class=\"mnemonic\">V</span>alue</a></li>");
+									line= "<h3 id=\"value\">Value</h3>";
+									break;
+								}
+								break;
+							case ('A'-'t'):
+								if (line.equals("<h3>Author(s)</h3>")) {
+									this.tempBuilder2.append("<li><a href=\"#authors\">Auth<span class=\"mnemonic\">o</span>r(s)</a></li>");
+									line= "<h3 id=\"authors\">Author(s)</h3>";
+									break;
+								}
+								break;
+							case ('R'-'f'):
+								if (line.equals("<h3>References</h3>")) {
+									this.tempBuilder2.append("<li><a href=\"#references\"><span class=\"mnemonic\">R</span>eferences</a></li>");
+									line= "<h3 id=\"references\">References</h3>";
+									break;
+								}
+								break;
+							case ('E'-'a'):
+								if (line.equals("<h3>Examples</h3>")) {
+									this.tempBuilder2.append("<li><a href=\"#examples\"><span class=\"mnemonic\">E</span>xamples</a></li>");
+									line= "<h3 id=\"examples\">Examples</h3>" + RHelpWebapp.HTML_BEGIN_EXAMPLES;
+									inExamples= true;
+									break;
+								}
+								break;
+							case ('S'-'e'):
+								if (line.equals("<h3>See Also</h3>")) {
+									this.tempBuilder2.append("<li><a href=\"#seealso\"><span class=\"mnemonic\">S</span>ee Also</a></li>");
+									line= "<h3 id=\"seealso\">See Also</h3>";
+									break;
+								}
+								break;
+							}
+						}
+						else if (line.startsWith("<hr>")) {
+							if (inExamples) {
+								this.tempBuilder1.append(RHelpWebapp.HTML_END_EXAMPLES);
+								inExamples= false;
+							}
+//						if (line.startsWith("<hr><div align=\"center\">[Package <em>")) {
+//							fTempBuilder1.append("<hr/><div class=\"toc\"><ul><li><a href=\"#top\">Top</a></li></ul></div>");
+//						}
+							this.tempBuilder1.append("<hr/>");
+							line= line.substring(4);
+						}
+					}
+					this.tempBuilder1.append(line);
+					this.tempBuilder1.append('\r');
+					this.tempBuilder1.append('\n');
+				}
+			}
+			if (topIndex >= 0) {
+				this.tempBuilder2.append("</ul></div>");
+				this.tempBuilder1.insert(topIndex, this.tempBuilder2);
+			}
+			return this.tempBuilder1.toString();
+		}
+		
+	}
+	
 	
 	private final IREnvConfiguration rEnvConfig;
 	
-	private final StringBuilder tempBuilder1= new StringBuilder(65536);
-	private final StringBuilder tempBuilder2= new StringBuilder(1024);
+	private final StringBuilder tempBuilder= new StringBuilder(65536);
 	
 	private final REnvIndexWriter index;
 	
@@ -337,11 +648,11 @@ public class RJREnvIndexUpdater {
 					new ByteArrayInputStream(bytes), "UTF-8")); //$NON-NLS-1$
 			String line;
 			
-			this.tempBuilder1.setLength(0);
+			this.tempBuilder.setLength(0);
 			while ((line= reader.readLine()) != null) {
 				if (REnvIndexWriter.DEBUG) {
-					this.tempBuilder1.append(line);
-					this.tempBuilder1.append('\n');
+					this.tempBuilder.append(line);
+					this.tempBuilder.append('\n');
 				}
 				int idx= line.indexOf('#');
 				if (idx >= 0) {
@@ -368,10 +679,10 @@ public class RJREnvIndexUpdater {
 		}
 		finally {
 			if (REnvIndexWriter.DEBUG) {
-				this.tempBuilder1.insert(0, "Read KEYWORDS.db file:\n<FILE>\n");
-				this.tempBuilder1.append("</FILE>\n");
+				this.tempBuilder.insert(0, "Read KEYWORDS.db file:\n<FILE>\n");
+				this.tempBuilder.append("</FILE>\n");
 				this.index.log(new Status(IStatus.INFO, RCore.PLUGIN_ID, -1,
-						 this.tempBuilder1.toString(), null));
+						 this.tempBuilder.toString(), null));
 			}
 		}
 		this.index.log(new Status(IStatus.ERROR, RCore.PLUGIN_ID, -1,
@@ -379,26 +690,34 @@ public class RJREnvIndexUpdater {
 	}
 	
 	private void loadPackages(final RService r, final SubMonitor progress) throws CoreException {
-		progress.beginTask("Loading R package help.", 8 + 1);
+		progress.beginTask("Loading R package help.", 1 + 8 + 1);
 		Exception errorCause= null;
-		LocalJob job= null;
+		LocalJobs jobs= null;
 		try {
-			job= new LocalJob();
-			job.schedule();
+			jobs= new LocalJobs(Math.min(Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+					MAX_WORKERS )) {
+				@Override
+				protected LocalJob createJob() {
+					return new PackageJob(this);
+				}
+			};
+			jobs.schedule();
 			
 			final IRPkgManager rPkgManager = RCore.getRPkgManager(this.rEnvConfig.getReference());
 			final IRLibPaths rLibPaths= rPkgManager.getRLibPaths();
 			final IRPkgCollection<? extends IRPkgInfo> installed= rPkgManager.getRPkgSet().getInstalled();
 			
-			final SubMonitor pkgsProgress= progress.newChild(8);
 			final List<String> names= installed.getNames();
+			final String[] rdHashes= loadRdHashes(r, installed, rLibPaths, progress.newChild(1));
+			
+			final SubMonitor pkgsProgress= progress.newChild(8);
 			for (int i= 0; i < names.size(); i++) {
 				pkgsProgress.setWorkRemaining(2 * (names.size() - i));
 				
 				final IRPkgInfo pkgInfo= installed.getFirstByName(names.get(i));
 				
 				if (this.index.checkPackage(pkgInfo.getName(), pkgInfo.getVersion().toString(),
-						pkgInfo.getBuilt() )) {
+						pkgInfo.getBuilt(), rdHashes[i] )) {
 					continue;
 				}
 				
@@ -416,17 +735,19 @@ public class RJREnvIndexUpdater {
 										pkgInfo.getLibraryLocation() )));
 					}
 					final PkgTask task= new PkgTask(pkgInfo.getName(), pkgInfo.getVersion(), pkgInfo.getBuilt(), libPath.getRPath());
+					task.rdHash= rdHashes[i];
 					{	final FunctionCall call= r.createFunctionCall(PKG_DESCR_FNAME);
 						call.addChar("lib", libPath.getRPath()); //$NON-NLS-1$
 						call.addChar("name", pkgInfo.getName()); //$NON-NLS-1$
 						task.rDescr= RDataUtil.checkRCharVector(call.evalData(pkgsProgress.newChild(1)));
 					}
-					{	final FunctionCall call= r.createFunctionCall(PKG_RD_FNAME);
+					if (!this.index.isPackageHelpUnchanged(pkgInfo.getName())) {
+						final FunctionCall call= r.createFunctionCall(PKG_RD_FNAME);
 						call.addChar("lib", libPath.getRPath()); //$NON-NLS-1$
 						call.addChar("name", pkgInfo.getName()); //$NON-NLS-1$
 						task.rRd= RDataUtil.checkRList(call.evalData(pkgsProgress.newChild(1)));
 					}
-					job.add(task, progress);
+					jobs.add(task, progress);
 				}
 				catch (final CoreException e) { // only core exceptions!
 					if (e.getStatus().getSeverity() == IStatus.CANCEL) {
@@ -440,8 +761,8 @@ public class RJREnvIndexUpdater {
 			}
 			
 			progress.subTask("Finishing index of help...");
-			job.finish(progress.newChild(2));
-			job= null;
+			jobs.finish(progress.newChild(2));
+			jobs= null;
 			return;
 		}
 		catch (final CoreException e) {
@@ -454,14 +775,57 @@ public class RJREnvIndexUpdater {
 			errorCause= e;
 		}
 		finally {
-			if (job != null) {
-				job.cancel(progress);
+			if (jobs != null) {
+				jobs.cancel(progress);
 			}
 		}
 		throw new CoreException(new Status(IStatus.ERROR, RCore.PLUGIN_ID, -1,
 				"An error occurred when loading the package data.", errorCause ));
 	}
 	
+	/**
+	 * Loads the content hashes of the Rd databases of the installed packages.
+	 * 
+	 * @return the hashes in the order of the package names, <code>null</code> if not available
+	 */
+	private String[] loadRdHashes(final RService r,
+			final IRPkgCollection<? extends IRPkgInfo> installed, final IRLibPaths rLibPaths,
+			final SubMonitor progress) throws CoreException {
+		final List<String> names= installed.getNames();
+		final String[] rdHashes= new String[names.size()];
+		final String[] files= new String[names.size()];
+		for (int i= 0; i < names.size(); i++) {
+			final IRPkgInfo pkgInfo= installed.getFirstByName(names.get(i));
+			final IRLibPaths.Entry libPath= rLibPaths.getEntryByLocation(pkgInfo.getLibraryLocation());
+			if (libPath != null) {
+				files[i]= libPath.getRPath() + '/' + pkgInfo.getName() + "/help/" + pkgInfo.getName() + ".rdb"; //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+		try {
+			final FunctionCall call= r.createFunctionCall(PKG_RD_HASH_FNAME);
+			call.add("files", RObjectFactoryImpl.INSTANCE.createCharVector(files)); //$NON-NLS-1$
+			final RCharacterStore data= RDataUtil.checkLengthEqual(
+					RDataUtil.checkRCharVector(call.evalData(progress)).getData(), files.length );
+			for (int i= 0; i < files.length; i++) {
+				if (files[i] != null && !data.isNA(i)) {
+					rdHashes[i]= data.getChar(i);
+				}
+			}
+		}
+		catch (final CoreException e) {
+			if (e.getStatus().getSeverity() == IStatus.CANCEL) {
+				throw e;
+			}
+			this.index.log(new Status(IStatus.WARNING, RCore.PLUGIN_ID, -1,
+					"An error occurred when loading the content hashes of the package help.", e ));
+		}
+		catch (final Exception e) {
+			this.index.log(new Status(IStatus.WARNING, RCore.PLUGIN_ID, -1,
+					"An error occurred when loading the content hashes of the package help.", e ));
+		}
+		return rdHashes;
+	}
+	
 	private IRPkgDescription createDescription(final PkgTask task) throws Exception {
 		final RCharacterStore data= RDataUtil.checkLengthEqual(task.rDescr.getData(), PKG_DESCR_LENGTH);
 		
@@ -504,180 +868,4 @@ public class RJREnvIndexUpdater {
 		);
 	}
 	
-	private void processRdData(final String pkgName, final RList pkgList) throws Exception {
-		for (int j= 0; j < pkgList.getLength(); j++) {
-			final RObject rdObj= pkgList.get(j);
-			if (rdObj.getRClassName().equals("RdData")) { //$NON-NLS-1$
-				final RList rdData= (RList) rdObj;
-				final RdItem rdItem= new RdItem(pkgName, pkgList.getName(j));
-				{	final RStore<?> store= rdData.get("title").getData(); //$NON-NLS-1$
-					if (!store.isNA(0)) {
-						rdItem.setTitle(store.getChar(0));
-					}
-				}
-				{	final RStore<?> store= rdData.get("topics").getData(); //$NON-NLS-1$
-					for (int k= 0; k < store.getLength(); k++) {
-						if (!store.isNA(k)) {
-							final String alias= store.getChar(k).trim();
-							if (alias.length() > 0) {
-								rdItem.addTopic(alias);
-							}
-						}
-					}
-				}
-				{	final RStore<?> store= rdData.get("keywords").getData(); //$NON-NLS-1$
-					for (int k= 0; k < store.getLength(); k++) {
-						if (!store.isNA(k)) {
-							final String keyword= store.getChar(k).trim();
-							if (keyword.length() > 0) {
-								rdItem.addKeyword(keyword);
-							}
-						}
-					}
-				}
-				{	final RStore<?> store= rdData.get("concepts").getData(); //$NON-NLS-1$
-					for (int k= 0; k < store.getLength(); k++) {
-						if (!store.isNA(k)) {
-							final String concept= store.getChar(k).trim();
-							if (concept.length() > 0) {
-								rdItem.addConcept(concept);
-							}
-						}
-					}
-				}
-				final RObject htmlObj= rdData.get("HTML"); //$NON-NLS-1$
-				if (htmlObj.getData() != null
-						&& htmlObj.getData().getStoreType() == RStore.CHARACTER) {
-					rdItem.setHtml(processHtml((RCharacterStore) htmlObj.getData()));
-				}
-				this.index.add(rdItem);
-			}
-		}
-	}
-	
-	@SuppressWarnings("nls")
-	private String processHtml(final RCharacterStore store) {
-		this.tempBuilder1.setLength(0);
-		this.tempBuilder2.setLength(0);
-		int length= 0;
-		for (int i= 0; i < store.getLength(); i++) {
-			if (!store.isNA(i)) {
-				length += store.getChar(i).length() + 2;
-			}
-		}
-		length += 300;
-		int topIndex= -1;
-		boolean inExamples= false;
-		this.tempBuilder2.append("<div class=\"toc\"><ul>");
-		for (int i= 0; i < store.getLength(); i++) {
-			if (!store.isNA(i)) {
-				String line= store.getChar(i);
-				if (topIndex == -1) {
-					if (line.startsWith("<table ")) {
-						this.tempBuilder1.append("<table class=\"header\" ");
-						line= line.substring(7);
-					}
-					else if (line.startsWith("<h2>")) {
-						topIndex= this.tempBuilder1.length();
-						this.tempBuilder1.append("<h2 id=\"top\">");
-						line= line.substring(4);
-					}
-				}
-				else if (topIndex >= 0 && line.length() > 10) {
-					if (line.startsWith("<h3>")) {
-						if (inExamples) {
-							this.tempBuilder1.append(RHelpWebapp.HTML_END_EXAMPLES);
-							inExamples= false;
-						}
-						switch (line.charAt(4)-line.charAt(6)) {
-						case ('D'-'s'):
-							if (line.equals("<h3>Description</h3>")) {
-								this.tempBuilder2.append("<li><a href=\"#description\"><span class=\"mnemonic\">D</span>escription</a></li>"); //$NON-NLS-1$
-								line= "<h3 id=\"description\">Description</h3>";
-								break;
-							}
-							break;
-						case ('U'-'a'):
-							if (line.equals("<h3>Usage</h3>")) {
-								this.tempBuilder2.append("<li><a href=\"#usage\"><span class=\"mnemonic\">U</span>sage</a></li>"); //$NON-NLS-1$
-								line= "<h3 id=\"usage\">Usage</h3>";
-								break;
-							}
-							break;
-						case ('A'-'g'):
-							if (line.equals("<h3>Arguments</h3>")) {
-								this.tempBuilder2.append("<li><a href=\"#arguments\"><span class=\"mnemonic\">A</span>rguments</a></li>"); //$NON-NLS-1$
-								line= "<h3 id=\"arguments\">Arguments</h3>";
-								break;
-							}
-							break;
-						case ('D'-'t'):
-							if (line.equals("<h3>Details</h3>")) {
-								this.tempBuilder2.append("<li><a href=\"#details\">Deta<span class=\"mnemonic\">i</span>ls</a></li>");
-								line= "<h3 id=\"details\">Details</h3>";
-								break;
-							}
-							break;
-						case ('V'-'l'):
-							if (line.equals("<h3>Value</h3>")) {
-								this.tempBuilder2.append("<li><a href=\"#value\"><span class=\"mnemonic\">V</span>alue</a></li>");
-								line= "<h3 id=\"value\">Value</h3>";
-								break;
-							}
-							break;
-						case ('A'-'t'):
-							if (line.equals("<h3>Author(s)</h3>")) {
-								this.tempBuilder2.append("<li><a href=\"#authors\">Auth<span class=\"mnemonic\">o</span>r(s)</a></li>");
-								line= "<h3 id=\"authors\">Author(s)</h3>";
-								break;
-							}
-							break;
-						case ('R'-'f'):
-							if (line.equals("<h3>References</h3>")) {
-								this.tempBuilder2.append("<li><a href=\"#references\"><span class=\"mnemonic\">R</span>eferences</a></li>");
-								line= "<h3 id=\"references\">References</h3>";
-								break;
-							}
-							break;
-						case ('E'-'a'):
-							if (line.equals("<h3>Examples</h3>")) {
-								this.tempBuilder2.append("<li><a href=\"#examples\"><span class=\"mnemonic\">E</span>xamples</a></li>");
-								line= "<h3 id=\"examples\">Examples</h3>" + RHelpWebapp.HTML_BEGIN_EXAMPLES;
-								inExamples= true;
-								break;
-							}
-							break;
-						case ('S'-'e'):
-							if (line.equals("<h3>See Also</h3>")) {
-								this.tempBuilder2.append("<li><a href=\"#seealso\"><span class=\"mnemonic\">S</span>ee Also</a></li>");
-								line= "<h3 id=\"seealso\">See Also</h3>";
-								break;
-							}
-							break;
-						}
-					}
-					else if (line.startsWith("<hr>")) {
-						if (inExamples) {
-							this.tempBuilder1.append(RHelpWebapp.HTML_END_EXAMPLES);
-							inExamples= false;
-						}
-//						if (line.startsWith("<hr><div align=\"center\">[Package <em>")) {
-//							fTempBuilder1.append("<hr/><div class=\"toc\"><ul><li><a href=\"#top\">Top</a></li></ul></div>");
-//						}
-						this.tempBuilder1.append("<hr/>");
-						line= line.substring(4);
-					}
-				}
-				this.tempBuilder1.append(line);
-				this.tempBuilder1.append('\r');
-				this.tempBuilder1.append('\n');
-			}
-		}
-		if (topIndex >= 0) {
-			this.tempBuilder2.append("</ul></div>");
-			this.tempBuilder1.insert(topIndex, this.tempBuilder2);
-		}
-		return this.tempBuilder1.toString();
-	}
-	
 }
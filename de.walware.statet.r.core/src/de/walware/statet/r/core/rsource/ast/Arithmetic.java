@@ -45,6 +45,11 @@ public abstract class Arithmetic extends StdBinary {
 			return (element.getNodeType() == NodeType.ADD);
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return initCopy(new Plus(), delta);
+		}
+		
 	}
 	
 	static class Minus extends Arithmetic {
@@ -69,6 +74,11 @@ public abstract class Arithmetic extends StdBinary {
 			return (element.getNodeType() == NodeType.ADD);
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return initCopy(new Minus(), delta);
+		}
+		
 	}
 	
 	static class Mult extends Arithmetic {
@@ -94,6 +104,11 @@ public abstract class Arithmetic extends StdBinary {
 			return (element.getNodeType() == NodeType.MULT);
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return initCopy(new Mult(), delta);
+		}
+		
 	}
 	
 	static class Div extends Arithmetic {
@@ -119,6 +134,11 @@ public abstract class Arithmetic extends StdBinary {
 			return (element.getNodeType() == NodeType.MULT);
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return initCopy(new Div(), delta);
+		}
+		
 	}
 	
 	
@@ -68,6 +68,11 @@ public abstract class Assignment extends StdBinary {
 			return false;
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return initCopy(new LeftS(), delta);
+		}
+		
 	}
 	
 	
@@ -113,6 +118,11 @@ public abstract class Assignment extends StdBinary {
 			return true;
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return initCopy(new LeftD(), delta);
+		}
+		
 	}
 	
 	
@@ -158,6 +168,11 @@ public abstract class Assignment extends StdBinary {
 			return false;
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return initCopy(new LeftE(), delta);
+		}
+		
 	}
 	
 	
@@ -203,6 +218,11 @@ public abstract class Assignment extends StdBinary {
 			return false;
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return initCopy(new LeftC(), delta);
+		}
+		
 	}
 	
 	
@@ -248,6 +268,11 @@ public abstract class Assignment extends StdBinary {
 			return false;
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return initCopy(new RightS(), delta);
+		}
+		
 	}
 	
 	
@@ -293,6 +318,11 @@ public abstract class Assignment extends StdBinary {
 			return true;
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return initCopy(new RightD(), delta);
+		}
+		
 	}
 	
 	
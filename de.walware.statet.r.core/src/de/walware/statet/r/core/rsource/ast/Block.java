@@ -72,4 +72,12 @@ public class Block extends ExpressionList {
 		}
 	}
 	
+	@Override
+	final RAstNode createCopy(final int delta) {
+		final Block copy = new Block();
+		copyExpressions(copy, delta);
+		copy.fBlockCloseOffset = shiftOffset(fBlockCloseOffset, delta);
+		return copy;
+	}
+	
 }
@@ -198,4 +198,18 @@ public class CForLoop extends RAstNode {
 		}
 	}
 	
+	@Override
+	final RAstNode createCopy(final int delta) {
+		final CForLoop copy = new CForLoop();
+		if (fVarSymbol != null) {
+			copy.fVarSymbol = (Symbol) fVarSymbol.copyForReuse(copy, delta);
+		}
+		copy.fCondOpenOffset = shiftOffset(fCondOpenOffset, delta);
+		copy.fInOffset = shiftOffset(fInOffset, delta);
+		copyExpr(fCondExpr, copy, copy.fCondExpr, delta);
+		copy.fCondCloseOffset = shiftOffset(fCondCloseOffset, delta);
+		copyExpr(fLoopExpr, copy, copy.fLoopExpr, delta);
+		return copy;
+	}
+	
 }
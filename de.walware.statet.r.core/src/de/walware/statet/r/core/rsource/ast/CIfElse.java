@@ -230,4 +230,17 @@ public class CIfElse extends RAstNode {
 		}
 	}
 	
+	@Override
+	final RAstNode createCopy(final int delta) {
+		final CIfElse copy = new CIfElse();
+		copy.fWithElse = fWithElse;
+		copy.fCondOpenOffset = shiftOffset(fCondOpenOffset, delta);
+		copyExpr(fCondExpr, copy, copy.fCondExpr, delta);
+		copy.fCondCloseOffset = shiftOffset(fCondCloseOffset, delta);
+		copyExpr(fThenExpr, copy, copy.fThenExpr, delta);
+		copy.fElseOffset = shiftOffset(fElseOffset, delta);
+		copyExpr(fElseExpr, copy, copy.fElseExpr, delta);
+		return copy;
+	}
+	
 }
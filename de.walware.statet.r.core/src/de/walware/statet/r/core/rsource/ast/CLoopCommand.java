@@ -59,6 +59,11 @@ public abstract class CLoopCommand extends RAstNode {
 			return RTerminal.BREAK;
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return new Break();
+		}
+		
 	}
 	
 	static class Next extends CLoopCommand {
@@ -94,6 +99,11 @@ public abstract class CLoopCommand extends RAstNode {
 			return RTerminal.NEXT;
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return new Next();
+		}
+		
 	}
 	
 	
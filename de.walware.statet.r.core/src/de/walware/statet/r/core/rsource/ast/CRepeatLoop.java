@@ -136,4 +136,11 @@ public class CRepeatLoop extends RAstNode {
 		fStopOffset = fLoopExpr.node.fStopOffset;
 	}
 	
+	@Override
+	final RAstNode createCopy(final int delta) {
+		final CRepeatLoop copy = new CRepeatLoop();
+		copyExpr(fLoopExpr, copy, copy.fLoopExpr, delta);
+		return copy;
+	}
+	
 }
@@ -179,4 +179,14 @@ public class CWhileLoop extends RAstNode {
 		}
 	}
 	
+	@Override
+	final RAstNode createCopy(final int delta) {
+		final CWhileLoop copy = new CWhileLoop();
+		copy.fCondOpenOffset = shiftOffset(fCondOpenOffset, delta);
+		copyExpr(fCondExpr, copy, copy.fCondExpr, delta);
+		copy.fCondCloseOffset = shiftOffset(fCondCloseOffset, delta);
+		copyExpr(fLoopExpr, copy, copy.fLoopExpr, delta);
+		return copy;
+	}
+	
 }
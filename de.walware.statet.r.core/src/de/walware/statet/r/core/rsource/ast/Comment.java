@@ -76,6 +76,11 @@ public abstract class Comment extends RAstNode {
 			return true;
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return new RoxygenLine();
+		}
+		
 	}
 	
 	static final class CommonLine extends Comment {
@@ -132,6 +137,11 @@ public abstract class Comment extends RAstNode {
 			return true;
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return new CommonLine();
+		}
+		
 	}
 	
 	
@@ -14,6 +14,7 @@ package de.walware.statet.r.core.rsource.ast;
 import java.lang.reflect.InvocationTargetException;
 import java.util.List;
 
+import de.walware.ecommons.collections.ImCollections;
 import de.walware.ecommons.ltk.ast.IAstNode;
 import de.walware.ecommons.ltk.ast.ICommonAstVisitor;
 
@@ -149,4 +150,22 @@ public final class DocuComment extends RAstNode {
 	final void updateStopOffset() {
 	}
 	
+	@Override
+	final RAstNode createCopy(final int delta) {
+		final DocuComment copy = new DocuComment();
+		copy.fNextOffset = shiftOffset(fNextOffset, delta);
+		copy.fLines = new Comment[fLines.length];
+		for (int i = 0; i < fLines.length; i++) {
+			copy.fLines[i] = (Comment) fLines[i].copyForReuse(copy, delta);
+		}
+		if (fTags != null) {
+			final DocuTag[] tags = new DocuTag[fTags.size()];
+			for (int i = 0; i < tags.length; i++) {
+				tags[i] = (DocuTag) fTags.get(i).copyForReuse(null, delta);
+			}
+			copy.fTags = ImCollections.newList(tags);
+		}
+		return copy;
+	}
+	
 }
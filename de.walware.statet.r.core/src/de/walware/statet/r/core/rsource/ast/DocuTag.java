@@ -133,4 +133,24 @@ public class DocuTag extends RAstNode {
 	final void updateStopOffset() {
 	}
 	
+	@Override
+	final RAstNode createCopy(final int delta) {
+		final DocuTag copy = new DocuTag(fName);
+		if (fFragments.length > 0) {
+			copy.fFragments = new RAstNode[fFragments.length];
+			for (int i = 0; i < fFragments.length; i++) {
+				final RAstNode fragment = fFragments[i];
+				if (fragment instanceof SourceComponent) {
+					final SourceComponent component = (SourceComponent) fragment.copyForReuse(null, delta);
+					component.fParent = copy;
+					copy.fFragments[i] = component;
+				}
+				else {
+					copy.fFragments[i] = fragment.copyForReuse(copy, delta);
+				}
+			}
+		}
+		return copy;
+	}
+	
 }
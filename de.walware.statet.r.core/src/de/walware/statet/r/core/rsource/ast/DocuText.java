@@ -119,4 +119,9 @@ public class DocuText extends RAstNode {
 	final void updateStopOffset() {
 	}
 	
+	@Override
+	final RAstNode createCopy(final int delta) {
+		return new DocuText(fText);
+	}
+	
 }
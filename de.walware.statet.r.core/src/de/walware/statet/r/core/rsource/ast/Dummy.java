@@ -114,6 +114,13 @@ public abstract class Dummy extends RAstNode {
 			throw new IllegalArgumentException();
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			final Terminal copy = new Terminal(fStatus);
+			copy.fText = fText;
+			return copy;
+		}
+		
 	}
 	
 	
@@ -232,6 +239,14 @@ public abstract class Dummy extends RAstNode {
 			throw new IllegalArgumentException();
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			final Operator copy = new Operator(fStatus);
+			copyExpr(fLeftExpr, copy, copy.fLeftExpr, delta);
+			copyExpr(fRightExpr, copy, copy.fRightExpr, delta);
+			return copy;
+		}
+		
 	}
 	
 	
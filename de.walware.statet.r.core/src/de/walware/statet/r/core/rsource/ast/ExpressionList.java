@@ -81,6 +81,49 @@ abstract class ExpressionList extends RAstNode {
 		}
 	}
 	
+	/**
+	 * Returns the index of the first child ending at or after the specified offset.
+	 * 
+	 * The children are in source order, so the index is found by binary search.
+	 * 
+	 * @param offset the offset
+	 * @return the index of the child or the number of children, if all children end before
+	 */
+	final int findChildIndex(final int offset) {
+		int low = 0;
+		int high = fExpressions.size();
+		while (low < high) {
+			final int mid = (low + high) >>> 1;
+			if (fExpressions.get(mid).node.fStopOffset < offset) {
+				low = mid + 1;
+			}
+			else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+	
+	/**
+	 * Calls the visitor for the children overlapping the specified region (including its
+	 * borders).
+	 * 
+	 * @param visitor the visitor
+	 * @param startOffset the start offset of the region
+	 * @param stopOffset the stop offset of the region
+	 */
+	final void acceptInRChildren(final RAstVisitor visitor,
+			final int startOffset, final int stopOffset) throws InvocationTargetException {
+		final int n = fExpressions.size();
+		for (int i = findChildIndex(startOffset); i < n; i++) {
+			final RAstNode child = fExpressions.get(i).node;
+			if (child.fStartOffset > stopOffset) {
+				break;
+			}
+			child.acceptInR(visitor);
+		}
+	}
+	
 	
 	@Override
 	final Expression getExpr(final RAstNode child) {
@@ -117,4 +160,12 @@ abstract class ExpressionList extends RAstNode {
 		return STATUS1_SYNTAX_MISSING_TOKEN;
 	}
 	
+	final void copyExpressions(final ExpressionList copy, final int delta) {
+		for (final Expression expr : fExpressions) {
+			final Expression exprCopy = new Expression();
+			copyExpr(expr, copy, exprCopy, delta);
+			copy.fExpressions.add(exprCopy);
+		}
+	}
+	
 }
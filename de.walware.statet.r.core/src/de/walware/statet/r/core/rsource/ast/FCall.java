@@ -36,13 +36,13 @@ public class FCall extends RAstNode {
 		
 		
 		final List<FCall.Arg> fSpecs;
-		final IntList fSepList;
+		/** Offsets of the separators, created for the first separator */
+		IntList fSepList;
 		
 		
 		Args(final FCall parent) {
 			fRParent = parent;
 			fSpecs = new ArrayList<FCall.Arg>(1);
-			fSepList = new ArrayIntList(1);
 		}
 		
 //		Args(final List<FCall.Arg> args) {
@@ -62,9 +62,19 @@ public class FCall extends RAstNode {
 		}
 		
 		public int getSeparatorOffset(final int index) {
+			if (fSepList == null) {
+				throw new IndexOutOfBoundsException(Integer.toString(index));
+			}
 			return fSepList.get(index);
 		}
 		
+		void addSeparator(final int offset) {
+			if (fSepList == null) {
+				fSepList = new ArrayIntList(4);
+			}
+			fSepList.add(offset);
+		}
+		
 		@Override
 		public final void acceptInR(final RAstVisitor visitor) throws InvocationTargetException {
 			visitor.visit(this);
@@ -144,6 +154,24 @@ public class FCall extends RAstNode {
 		final void updateStopOffset() {
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			final Args copy = new Args(null);
+			initCopy(copy, delta);
+			return copy;
+		}
+		
+		final void initCopy(final Args copy, final int delta) {
+			for (final FCall.Arg arg : fSpecs) {
+				copy.fSpecs.add((FCall.Arg) arg.copyForReuse(copy, delta));
+			}
+			if (fSepList != null) {
+				for (int i = 0; i < fSepList.size(); i++) {
+					copy.addSeparator(fSepList.get(i) + delta);
+				}
+			}
+		}
+		
 	}
 	
 	public static class Arg extends SpecItem {
@@ -170,6 +198,11 @@ public class FCall extends RAstNode {
 			return (element.getNodeType() == NodeType.F_CALL_ARG);
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return initCopy(new Arg(null), delta);
+		}
+		
 	}
 	
 	
@@ -317,4 +350,15 @@ public class FCall extends RAstNode {
 		}
 	}
 	
+	@Override
+	final RAstNode createCopy(final int delta) {
+		final FCall copy = new FCall();
+		copyExpr(fRefExpr, copy, copy.fRefExpr, delta);
+		copy.fArgsOpenOffset = shiftOffset(fArgsOpenOffset, delta);
+		fArgs.copyCommon(copy.fArgs, delta);
+		fArgs.initCopy(copy.fArgs, delta);
+		copy.fArgsCloseOffset = shiftOffset(fArgsCloseOffset, delta);
+		return copy;
+	}
+	
 }
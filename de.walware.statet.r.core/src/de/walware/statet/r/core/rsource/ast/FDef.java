@@ -132,6 +132,15 @@ public class FDef extends RAstNode {
 		final void updateStopOffset() {
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			final Args copy = new Args(null);
+			for (final Arg arg : fSpecs) {
+				copy.fSpecs.add((Arg) arg.copyForReuse(copy, delta));
+			}
+			return copy;
+		}
+		
 	}
 	
 	
@@ -290,6 +299,17 @@ public class FDef extends RAstNode {
 			}
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			final Arg copy = new Arg(null);
+			if (fArgName != null) {
+				copy.fArgName = (SingleValue) fArgName.copyForReuse(copy, delta);
+			}
+			copy.fWithDefault = fWithDefault;
+			copyExpr(fDefaultExpr, copy, copy.fDefaultExpr, delta);
+			return copy;
+		}
+		
 	}
 	
 	
@@ -436,4 +456,14 @@ public class FDef extends RAstNode {
 		}
 	}
 	
+	@Override
+	final RAstNode createCopy(final int delta) {
+		final FDef copy = new FDef();
+		copy.fArgsOpenOffset = shiftOffset(fArgsOpenOffset, delta);
+		copy.fArgs = (Args) fArgs.copyForReuse(copy, delta);
+		copy.fArgsCloseOffset = shiftOffset(fArgsCloseOffset, delta);
+		copyExpr(fExpr, copy, copy.fExpr, delta);
+		return copy;
+	}
+	
 }
@@ -148,4 +148,12 @@ public class Group extends RAstNode {
 		}
 	}
 	
+	@Override
+	final RAstNode createCopy(final int delta) {
+		final Group copy = new Group();
+		copyExpr(fExpr, copy, copy.fExpr, delta);
+		copy.fGroupCloseOffset = shiftOffset(fGroupCloseOffset, delta);
+		return copy;
+	}
+	
 }
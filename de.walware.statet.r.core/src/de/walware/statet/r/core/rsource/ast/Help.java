@@ -171,4 +171,12 @@ public class Help extends RAstNode {
 		fStopOffset = getTopicChild().fStopOffset;
 	}
 	
+	@Override
+	final RAstNode createCopy(final int delta) {
+		final Help copy = new Help();
+		copyExpr(fLeftExpr, copy, copy.fLeftExpr, delta);
+		copyExpr(fRightExpr, copy, copy.fRightExpr, delta);
+		return copy;
+	}
+	
 }
\ No newline at end of file
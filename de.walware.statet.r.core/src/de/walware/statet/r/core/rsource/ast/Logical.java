@@ -46,6 +46,11 @@ public abstract class Logical extends StdBinary {
 			return (element.getNodeType() == NodeType.OR);
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return initCopy(new Or(), delta);
+		}
+		
 	}
 	
 	static class OrD extends Logical {
@@ -71,6 +76,11 @@ public abstract class Logical extends StdBinary {
 			return (element.getNodeType() == NodeType.OR);
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return initCopy(new OrD(), delta);
+		}
+		
 	}
 	
 	static class And extends Logical {
@@ -96,6 +106,11 @@ public abstract class Logical extends StdBinary {
 			return (element.getNodeType() == NodeType.AND);
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return initCopy(new And(), delta);
+		}
+		
 	}
 	
 	static class AndD extends Logical {
@@ -121,6 +136,11 @@ public abstract class Logical extends StdBinary {
 			return (element.getNodeType() == NodeType.AND);
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return initCopy(new AndD(), delta);
+		}
+		
 	}
 	
 	
@@ -177,4 +177,12 @@ public class Model extends RAstNode {
 		fStopOffset = getRightChild().fStopOffset;
 	}
 	
+	@Override
+	final RAstNode createCopy(final int delta) {
+		final Model copy = new Model();
+		copyExpr(fLeftExpr, copy, copy.fLeftExpr, delta);
+		copyExpr(fRightExpr, copy, copy.fRightExpr, delta);
+		return copy;
+	}
+	
 }
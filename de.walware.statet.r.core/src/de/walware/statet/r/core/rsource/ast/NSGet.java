@@ -54,6 +54,11 @@ public abstract class NSGet extends RAstNode {
 					&& fElement.equalsValue(element.getChild(1)) );
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return initCopy(new Std(), delta);
+		}
+		
 	}
 	
 	static class Internal extends NSGet {
@@ -85,6 +90,11 @@ public abstract class NSGet extends RAstNode {
 					&& fElement.equalsValue(element.getChild(1)) );
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return initCopy(new Internal(), delta);
+		}
+		
 	}
 	
 	
@@ -187,4 +197,15 @@ public abstract class NSGet extends RAstNode {
 		fStopOffset = fElement.fStopOffset;
 	}
 	
+	final NSGet initCopy(final NSGet copy, final int delta) {
+		if (fNamespace != null) {
+			copy.fNamespace = (SingleValue) fNamespace.copyForReuse(copy, delta);
+		}
+		copy.fOperatorOffset = shiftOffset(fOperatorOffset, delta);
+		if (fElement != null) {
+			copy.fElement = (SingleValue) fElement.copyForReuse(copy, delta);
+		}
+		return copy;
+	}
+	
 }
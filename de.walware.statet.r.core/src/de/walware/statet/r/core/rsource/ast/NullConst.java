@@ -116,4 +116,9 @@ public class NullConst extends RAstNode {
 		return (element.getNodeType() == NodeType.NULL_CONST);
 	}
 	
+	@Override
+	final RAstNode createCopy(final int delta) {
+		return new NullConst();
+	}
+	
 }
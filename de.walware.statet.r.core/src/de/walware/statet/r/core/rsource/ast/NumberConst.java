@@ -52,4 +52,9 @@ public class NumberConst extends SingleValue {
 		return (element.getNodeType() == NodeType.NUM_CONST);
 	}
 	
+	@Override
+	final RAstNode createCopy(final int delta) {
+		return initCopy(new NumberConst(fType), delta);
+	}
+	
 }
@@ -62,4 +62,9 @@ public class Power extends StdBinary {
 				&& fRightExpr.node.equalsValue(element.getRightExpr().node) );
 	}
 	
+	@Override
+	final RAstNode createCopy(final int delta) {
+		return initCopy(new Power(), delta);
+	}
+	
 }
@@ -69,6 +69,10 @@ public class RAst extends Ast {
 		@Override
 		public void visitNode(final RAstNode node) throws InvocationTargetException {
 			if (node.getEndOffset() >= fStartOffset && fStopOffset >= node.getOffset()) {
+				if (!fInAssignment && node instanceof ExpressionList) {
+					((ExpressionList) node).acceptInRChildren(this, fStartOffset, fStopOffset);
+					return;
+				}
 				node.acceptInRChildren(this);
 				return;
 			}
@@ -172,7 +176,7 @@ public class RAst extends Ast {
 				}
 				fContainer = node;
 				
-				node.acceptInRChildren(this);
+				node.acceptInRChildren(this, fStartOffset, fStopOffset);
 				
 				if (fCommands.isEmpty() && node.fStopOffset > fStartOffset) {
 					fCommands.add(node);
@@ -187,7 +191,7 @@ public class RAst extends Ast {
 				fCommands.clear();
 				fContainer = node;
 				
-				node.acceptInRChildren(this);
+				node.acceptInRChildren(this, fStartOffset, fStopOffset);
 				return;
 			}
 		}
@@ -206,6 +210,13 @@ public class RAst extends Ast {
 		}
 		
 		
+		private void acceptInRChildren(final ExpressionList node) throws InvocationTargetException {
+			final int count = node.getChildCount();
+			for (int i = node.findChildIndex(fOffset); i < count && fNext == null; i++) {
+				node.getChild(i).acceptInR(this);
+			}
+		}
+		
 		@Override
 		public void visit(final IAstNode node) throws InvocationTargetException {
 			if (node instanceof RAstNode) {
@@ -243,13 +254,13 @@ public class RAst extends Ast {
 						return;
 					}
 					else {
-						node.acceptInRChildren(this);
+						acceptInRChildren(node);
 						return;
 					}
 				}
 				if (node.fStopOffset >= fOffset) {
 					fContainer = node;
-					node.acceptInRChildren(this);
+					acceptInRChildren(node);
 					return;
 				}
 			}
@@ -263,7 +274,7 @@ public class RAst extends Ast {
 						// R script file or inside R chunk
 						(parent == null || (parent.getOffset() <= fOffset && fOffset <= parent.getEndOffset())) ) {
 					fContainer = node;
-					node.acceptInRChildren(this);
+					acceptInRChildren(node);
 					return;
 				}
 			}
@@ -17,6 +17,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.List;
 
 import de.walware.ecommons.ltk.ast.IAstNode;
+import de.walware.ecommons.ltk.ast.StatusDetail;
 import de.walware.ecommons.ltk.core.impl.AbstractAstNode;
 
 import de.walware.statet.r.core.rlang.RTerminal;
@@ -231,4 +232,52 @@ public abstract class RAstNode extends AbstractAstNode
 	abstract void updateStopOffset();
 	
 	
+	static final int shiftOffset(final int offset, final int delta) {
+		return (offset != Integer.MIN_VALUE) ? offset + delta : offset;
+	}
+	
+	/**
+	 * Creates a copy of the node and its descendants to be reused in a new AST of the same source.
+	 * 
+	 * The copy has no model attachments and all offsets are shifted by the specified delta.
+	 * The node itself is not changed, so the previous AST stays valid.
+	 * 
+	 * @param parent the parent of the copy
+	 * @param delta the offset delta
+	 * @return the copy
+	 */
+	final RAstNode copyForReuse(final RAstNode parent, final int delta) {
+		final RAstNode copy = createCopy(delta);
+		copy.fRParent = parent;
+		copyCommon(copy, delta);
+		return copy;
+	}
+	
+	/**
+	 * Creates a new node of the same type with copies of the node specific properties and of the
+	 * children.
+	 * 
+	 * @param delta the offset delta
+	 * @return the new node
+	 */
+	abstract RAstNode createCopy(int delta);
+	
+	final void copyCommon(final RAstNode copy, final int delta) {
+		copy.fStartOffset = shiftOffset(fStartOffset, delta);
+		copy.fStopOffset = shiftOffset(fStopOffset, delta);
+		copy.fStatus = fStatus;
+		for (final Object attachment : getAttachments()) {
+			if (attachment instanceof StatusDetail) {
+				copy.addAttachment(attachment);
+			}
+		}
+	}
+	
+	static final void copyExpr(final Expression expr, final RAstNode parentCopy, final Expression exprCopy,
+			final int delta) {
+		if (expr.node != null) {
+			exprCopy.node = expr.node.copyForReuse(parentCopy, delta);
+		}
+	}
+	
 }
@@ -134,9 +134,6 @@ public final class RScanner {
 		
 	}
 	
-	private final static RScannerPostExprVisitor POST_VISITOR = new RScannerPostExprVisitor();
-	
-	
 	private final RLexer lexer;
 	private final int level;
 	
@@ -150,6 +147,8 @@ public final class RScanner {
 	private final boolean createText;
 	private final IStringFactory symbolTextFactory;
 	
+	private final RScannerPostExprVisitor postVisitor= new RScannerPostExprVisitor();
+	
 	
 	public RScanner(final int level) {
 		this(level, (IStringFactory) null);
@@ -232,6 +231,235 @@ public final class RScanner {
 		}
 	}
 	
+	/**
+	 * Updates the source component of a previous scan of the source after a change of the text.
+	 * <p>
+	 * Only the top level expressions affected by the change are scanned again; the other nodes
+	 * are copied from the previous AST (their offsets are adjusted and model attachments are
+	 * removed). The previous AST is not changed and can still be used concurrently.</p>
+	 * <p>
+	 * The scanner must be configured like the scanner of the previous component (AST level and
+	 * comment level).</p>
+	 * 
+	 * @param input the input for the new text, initialized for the complete source range
+	 * @param prevComponent the source component of the previous scan
+	 * @param changeOffset the offset of the change
+	 * @param prevChangeEndOffset the end offset of the changed region in the previous text
+	 * @param changeEndOffset the end offset of the changed region in the new text
+	 * @return the updated source component or <code>null</code>, if the change cannot be applied
+	 *     incrementally and the source must be scanned completely
+	 */
+	public SourceComponent updateSourceRange(final TextParserInput input,
+			final SourceComponent prevComponent,
+			final int changeOffset, final int prevChangeEndOffset, final int changeEndOffset) {
+		final int delta= changeEndOffset - prevChangeEndOffset;
+		final int startOffset= input.getStartIndex();
+		final int stopOffset= input.getStopIndex();
+		final List<RAstNode> prevComments= prevComponent.fComments;
+		if ((this.commentsLevel > 0) != (prevComments != null)) {
+			return null;
+		}
+		try {
+			final int count= prevComponent.getChildCount();
+			
+			// prefix: expressions before the change, ending with a line break
+			int idx= 0;
+			while (idx < count && prevComponent.getChild(idx).fStopOffset < changeOffset) {
+				idx++;
+			}
+			int prefixCount= idx;
+			int scanStartOffset= startOffset;
+			while (prefixCount > 0) {
+				final RAstNode child= prevComponent.getChild(prefixCount - 1);
+				if ((child.fStatus & RScannerPostExprVisitor.SYNTAXERROR_MASK) == 0) {
+					final int lineOffset= getNextLineOffset(input, child.fStopOffset, changeOffset);
+					if (lineOffset >= 0) {
+						scanStartOffset= lineOffset;
+						break;
+					}
+				}
+				prefixCount--;
+			}
+			
+			// suffix: expressions after the change, without syntax errors
+			int suffixIdx= idx;
+			while (suffixIdx < count && prevComponent.getChild(suffixIdx).fStartOffset < prevChangeEndOffset) {
+				suffixIdx++;
+			}
+			if (delta != 0) {
+				for (int i= count - 1; i >= suffixIdx; i--) {
+					if ((prevComponent.getChild(i).fStatus & RScannerPostExprVisitor.SYNTAXERROR_MASK) != 0) {
+						suffixIdx= i + 1;
+						break;
+					}
+				}
+			}
+			final int prevScanStopOffset;
+			final int scanStopOffset;
+			if (suffixIdx < count) {
+				prevScanStopOffset= prevComponent.getChild(suffixIdx).fStartOffset;
+				scanStopOffset= prevScanStopOffset + delta;
+			}
+			else {
+				prevScanStopOffset= stopOffset - delta;
+				scanStopOffset= stopOffset;
+			}
+			
+			this.lexer.reset(input.init(scanStartOffset, scanStopOffset));
+			init();
+			final SourceComponent scanned= scanSourceUnit((RAstNode) null);
+			
+			final int scannedCount= scanned.getChildCount();
+			if (suffixIdx < count && scannedCount > 0) {
+				// the last scanned expression must be complete and end before the next line
+				final RAstNode child= scanned.getChild(scannedCount - 1);
+				if ((child.fStatus & RScannerPostExprVisitor.SYNTAXERROR_MASK) != 0
+						|| !containsLineBreak(input, child.fStopOffset, scanStopOffset) ) {
+					return null;
+				}
+			}
+			
+			final SourceComponent node= new SourceComponent();
+			node.fParent= prevComponent.fParent;
+			for (int i= 0; i < prefixCount; i++) {
+				final Expression expr= new Expression();
+				RAstNode.copyExpr(prevComponent.fExpressions.get(i), node, expr, 0);
+				node.fExpressions.add(expr);
+			}
+			for (final Expression expr : scanned.fExpressions) {
+				expr.node.fRParent= node;
+				node.fExpressions.add(expr);
+			}
+			for (int i= suffixIdx; i < count; i++) {
+				final Expression expr= new Expression();
+				RAstNode.copyExpr(prevComponent.fExpressions.get(i), node, expr, delta);
+				node.fExpressions.add(expr);
+			}
+			for (final Expression expr : node.fExpressions) {
+				if ((expr.node.fStatus & RScannerPostExprVisitor.SYNTAXERROR_MASK) != 0) {
+					node.fStatus |= STATUSFLAG_ERROR_IN_CHILD;
+					break;
+				}
+			}
+			node.updateStartOffset();
+			node.updateStopOffset();
+			
+			if (prevComments != null) {
+				final List<RAstNode> scannedComments= scanned.fComments;
+				final List<RAstNode> comments= new ArrayList<>(prevComments.size() + 8);
+				int commentIdx= 0;
+				for (; commentIdx < prevComments.size(); commentIdx++) {
+					final RAstNode comment= prevComments.get(commentIdx);
+					if (comment.fStartOffset >= scanStartOffset) {
+						break;
+					}
+					comments.add(comment.copyForReuse(null, 0));
+				}
+				for (; commentIdx < prevComments.size(); commentIdx++) {
+					if (prevComments.get(commentIdx).fStartOffset >= prevScanStopOffset) {
+						break;
+					}
+				}
+				if (!scannedComments.isEmpty() && suffixIdx < count) {
+					final RAstNode comment= scannedComments.get(scannedComments.size() - 1);
+					if (comment.getNodeType() == NodeType.DOCU_AGGREGATION
+							&& ((DocuComment) comment).fNextOffset == Integer.MIN_VALUE
+							&& isSingleLineBreak(input, comment.fStopOffset, scanStopOffset) ) {
+						((DocuComment) comment).fNextOffset= scanStopOffset;
+					}
+				}
+				comments.addAll(scannedComments);
+				for (; commentIdx < prevComments.size(); commentIdx++) {
+					comments.add(prevComments.get(commentIdx).copyForReuse(null, delta));
+				}
+				node.fComments= Collections.unmodifiableList(comments);
+			}
+			return node;
+		}
+		catch (final Exception e) {
+			RCorePlugin.logError(-1, "Error occured while updating AST of R code", e);
+			return null;
+		}
+		finally {
+			input.init(startOffset, stopOffset);
+		}
+	}
+	
+	/**
+	 * Returns the offset of the line following the specified offset, if the text between
+	 * contains only whitespace and separators
+	 * 
+	 * @return the offset of the next line or <code>-1</code>
+	 */
+	private static int getNextLineOffset(final TextParserInput input,
+			final int startOffset, final int stopOffset) {
+		input.init(startOffset, stopOffset);
+		int num= 0;
+		while (true) {
+			switch (input.get(num++)) {
+			case ' ':
+			case '\t':
+			case '\f':
+			case ';':
+				continue;
+			case '\r':
+				if (input.get(num) == '\n') {
+					num++;
+				}
+				return startOffset + num;
+			case '\n':
+				return startOffset + num;
+			default:
+				return -1;
+			}
+		}
+	}
+	
+	private static boolean containsLineBreak(final TextParserInput input,
+			final int startOffset, final int stopOffset) {
+		input.init(startOffset, stopOffset);
+		int num= 0;
+		while (true) {
+			switch (input.get(num++)) {
+			case TextParserInput.EOF:
+				return false;
+			case '\r':
+			case '\n':
+				return true;
+			default:
+				continue;
+			}
+		}
+	}
+	
+	private static boolean isSingleLineBreak(final TextParserInput input,
+			final int startOffset, final int stopOffset) {
+		input.init(startOffset, stopOffset);
+		int num= 0;
+		int lines= 0;
+		while (true) {
+			switch (input.get(num++)) {
+			case TextParserInput.EOF:
+				return (lines == 1);
+			case ' ':
+			case '\t':
+			case '\f':
+				continue;
+			case '\r':
+				if (input.get(num) == '\n') {
+					num++;
+				}
+				lines++;
+				continue;
+			case '\n':
+				lines++;
+				continue;
+			default:
+				return false;
+			}
+		}
+	}
+	
 	public RAstNode scanExpr(final TextParserInput input) {
 		try {
 			this.lexer.reset(input);
@@ -1089,7 +1317,7 @@ public final class RScanner {
 			}
 			
 			args.fSpecs.add(arg);
-			args.fStatus = POST_VISITOR.checkTerminal(arg);
+			args.fStatus = this.postVisitor.checkTerminal(arg);
 			if (this.nextType == RTerminal.COMMA) {
 				args.fStopOffset = this.lexer.getOffset()+1;
 				consumeToken();
@@ -1168,8 +1396,8 @@ public final class RScanner {
 			
 			if (this.nextType == RTerminal.COMMA) {
 				args.fSpecs.add(arg);
-				args.fStatus = POST_VISITOR.checkTerminal(arg);
-				args.fSepList.add(this.lexer.getOffset());
+				args.fStatus = this.postVisitor.checkTerminal(arg);
+				args.addSeparator(this.lexer.getOffset());
 				args.fStopOffset = this.lexer.getOffset()+1;
 				consumeToken();
 				readLines();
@@ -1180,7 +1408,7 @@ public final class RScanner {
 				return;
 			}
 			args.fSpecs.add(arg);
-			args.fStatus = POST_VISITOR.checkTerminal(arg);
+			args.fStatus = this.postVisitor.checkTerminal(arg);
 			args.fStartOffset = args.fSpecs.get(0).fStartOffset;
 			args.fStopOffset = arg.fStopOffset;
 			return;
@@ -1251,7 +1479,7 @@ public final class RScanner {
 			
 			if (this.nextType == RTerminal.COMMA) {
 				args.fSpecs.add(arg);
-				args.fStatus = POST_VISITOR.checkTerminal(arg);
+				args.fStatus = this.postVisitor.checkTerminal(arg);
 				args.fStopOffset = this.lexer.getOffset()+1;
 				consumeToken();
 				readLines();
@@ -1262,7 +1490,7 @@ public final class RScanner {
 				return;
 			}
 			args.fSpecs.add(arg);
-			args.fStatus = POST_VISITOR.checkTerminal(arg);
+			args.fStatus = this.postVisitor.checkTerminal(arg);
 			args.fStartOffset = args.fSpecs.get(0).fStartOffset;
 			args.fStopOffset = arg.fStopOffset;
 			return;
@@ -1394,7 +1622,7 @@ public final class RScanner {
 		symbol.fRParent = parent;
 		setupFromSourceToken(symbol);
 		if (parent != null) {
-			parent.fStatus |= POST_VISITOR.checkTerminal(symbol);
+			parent.fStatus |= this.postVisitor.checkTerminal(symbol);
 		}
 		consumeToken();
 		return symbol;
@@ -1620,22 +1848,23 @@ public final class RScanner {
 	}
 	
 	private final void setupFromSourceToken(final Symbol node) {
-		node.fStartOffset = this.lexer.getOffset();
-		node.fStopOffset = this.lexer.getOffset()+this.lexer.getLength();
-		if (this.createText) {
-			node.fText = this.lexer.getText(this.symbolTextFactory);
-			if (this.lexer.getStatusDetail() != null) {
-				node.addAttachment(this.lexer.getStatusDetail());
-			}
-		}
-		node.fStatus = this.lexer.getFlags();
+		setupFromSourceToken(node, this.symbolTextFactory);
+	}
+	
+	private final void setupFromSourceToken(final NumberConst node) {
+		// number texts are short and often repeated
+		setupFromSourceToken(node, this.symbolTextFactory);
 	}
 	
 	private final void setupFromSourceToken(final SingleValue node) {
+		setupFromSourceToken(node, null);
+	}
+	
+	private final void setupFromSourceToken(final SingleValue node, final IStringFactory textFactory) {
 		node.fStartOffset = this.lexer.getOffset();
 		node.fStopOffset = this.lexer.getOffset()+this.lexer.getLength();
 		if (this.createText) {
-			node.fText = this.lexer.getText();
+			node.fText = (textFactory != null) ? this.lexer.getText(textFactory) : this.lexer.getText();
 			if (this.lexer.getStatusDetail() != null) {
 				node.addAttachment(this.lexer.getStatusDetail());
 			}
@@ -1650,7 +1879,7 @@ public final class RScanner {
 					context.lastNode.getMissingExprStatus(context.openExpr));
 			state = -1;
 		}
-		context.rootNode.fStatus |= POST_VISITOR.check(context.rootExpr.node);
+		context.rootNode.fStatus |= this.postVisitor.check(context.rootExpr.node);
 		return state;
 	}
 	
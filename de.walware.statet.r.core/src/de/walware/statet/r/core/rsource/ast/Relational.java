@@ -51,6 +51,11 @@ public abstract class Relational extends StdBinary {
 								&& fRightExpr.node.equalsValue(element.getLeftExpr().node) ) );
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return initCopy(new LT(), delta);
+		}
+		
 	}
 	
 	static class LE extends Relational {
@@ -77,6 +82,11 @@ public abstract class Relational extends StdBinary {
 								&& fRightExpr.node.equalsValue(element.getLeftExpr().node) ) );
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return initCopy(new LE(), delta);
+		}
+		
 	}
 	
 	static class EQ extends Relational {
@@ -100,6 +110,11 @@ public abstract class Relational extends StdBinary {
 					&& fRightExpr.node.equalsValue(element.getRightExpr().node) );
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return initCopy(new EQ(), delta);
+		}
+		
 	}
 	
 	static class GE extends Relational {
@@ -126,6 +141,11 @@ public abstract class Relational extends StdBinary {
 								&& fRightExpr.node.equalsValue(element.getLeftExpr().node) ) );
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return initCopy(new GE(), delta);
+		}
+		
 	}
 	
 	static class GT extends Relational {
@@ -152,6 +172,11 @@ public abstract class Relational extends StdBinary {
 								&& fRightExpr.node.equalsValue(element.getLeftExpr().node) ) );
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return initCopy(new GT(), delta);
+		}
+		
 	}
 	
 	static class NE extends Relational {
@@ -175,6 +200,11 @@ public abstract class Relational extends StdBinary {
 					&& fRightExpr.node.equalsValue(element.getRightExpr().node) );
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return initCopy(new NE(), delta);
+		}
+		
 	}
 	
 	
@@ -77,6 +77,25 @@ public class RoxygenScanner {
 		}
 	}
 	
+	/**
+	 * Updates only the documentation comments of the component not yet processed, e.g. after
+	 * an incremental update of the component.
+	 * 
+	 * @param component the source component
+	 */
+	public void updateNew(final SourceComponent component) {
+		final List<RAstNode> comments= component.fComments;
+		if (comments == null || comments.isEmpty()) {
+			return;
+		}
+		for (final RAstNode comment : comments) {
+			if (comment.getNodeType() == NodeType.DOCU_AGGREGATION
+					&& ((DocuComment) comment).fTags == null) {
+				update((DocuComment) comment);
+			}
+		}
+	}
+	
 	public void update(final DocuComment comment) {
 		if (comment.getOperator(0) != RTerminal.ROXYGEN_COMMENT) {
 			return;
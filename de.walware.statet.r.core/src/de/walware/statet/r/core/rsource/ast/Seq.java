@@ -54,4 +54,9 @@ public class Seq extends StdBinary {
 				&& fRightExpr.node.equalsValue(element.getRightExpr().node) );
 	}
 	
+	@Override
+	final RAstNode createCopy(final int delta) {
+		return initCopy(new Seq(), delta);
+	}
+	
 }
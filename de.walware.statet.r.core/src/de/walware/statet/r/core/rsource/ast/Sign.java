@@ -50,6 +50,11 @@ public abstract class Sign extends RAstNode {
 			return (element.getNodeType() == NodeType.SIGN);
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return initCopy(new PlusSign(), delta);
+		}
+		
 	}
 	
 	static class MinusSign extends Sign {
@@ -75,6 +80,11 @@ public abstract class Sign extends RAstNode {
 			return (element.getNodeType() == NodeType.SIGN);
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return initCopy(new MinusSign(), delta);
+		}
+		
 	}
 	
 	static class Not extends Sign {
@@ -95,6 +105,11 @@ public abstract class Sign extends RAstNode {
 			return (element.getNodeType() == NodeType.NOT);
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return initCopy(new Not(), delta);
+		}
+		
 	}
 	
 	
@@ -196,4 +211,9 @@ public abstract class Sign extends RAstNode {
 				&& element.getChild(0).equals(getChild(0)));
 	}
 	
+	final Sign initCopy(final Sign copy, final int delta) {
+		copyExpr(fRightExpr, copy, copy.fRightExpr, delta);
+		return copy;
+	}
+	
 }
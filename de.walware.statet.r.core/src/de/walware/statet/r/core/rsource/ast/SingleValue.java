@@ -136,4 +136,9 @@ abstract class SingleValue extends RAstNode {
 		}
 	}
 	
+	final SingleValue initCopy(final SingleValue copy, final int delta) {
+		copy.fText = fText;
+		return copy;
+	}
+	
 }
@@ -12,6 +12,8 @@
 package de.walware.statet.r.core.rsource.ast;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import de.walware.ecommons.ltk.ast.IAstNode;
@@ -97,4 +99,19 @@ public class SourceComponent extends ExpressionList {
 		}
 	}
 	
+	@Override
+	final RAstNode createCopy(final int delta) {
+		final SourceComponent copy = new SourceComponent();
+		copy.fParent = fParent;
+		copyExpressions(copy, delta);
+		if (fComments != null) {
+			final List<RAstNode> comments = new ArrayList<RAstNode>(fComments.size());
+			for (final RAstNode comment : fComments) {
+				comments.add(comment.copyForReuse(null, delta));
+			}
+			copy.fComments = Collections.unmodifiableList(comments);
+		}
+		return copy;
+	}
+	
 }
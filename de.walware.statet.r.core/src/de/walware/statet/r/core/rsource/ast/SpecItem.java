@@ -190,4 +190,13 @@ abstract class SpecItem extends RAstNode {
 		}
 	}
 	
+	final SpecItem initCopy(final SpecItem copy, final int delta) {
+		if (fArgName != null) {
+			copy.fArgName = fArgName.copyForReuse(copy, delta);
+		}
+		copy.fEqualsOffset = shiftOffset(fEqualsOffset, delta);
+		copyExpr(fValueExpr, copy, copy.fValueExpr, delta);
+		return copy;
+	}
+	
 }
@@ -56,4 +56,11 @@ public class Special extends StdBinary {
 				&& fRightExpr.node.equalsValue(element.getRightExpr().node) );
 	}
 	
+	@Override
+	final RAstNode createCopy(final int delta) {
+		final Special copy = new Special();
+		copy.fQualifier = fQualifier;
+		return initCopy(copy, delta);
+	}
+	
 }
@@ -135,4 +135,10 @@ abstract class StdBinary extends RAstNode {
 		fStopOffset = fRightExpr.node.fStopOffset;
 	}
 	
+	final StdBinary initCopy(final StdBinary copy, final int delta) {
+		copyExpr(fLeftExpr, copy, copy.fLeftExpr, delta);
+		copyExpr(fRightExpr, copy, copy.fRightExpr, delta);
+		return copy;
+	}
+	
 }
@@ -34,6 +34,11 @@ public abstract class StringConst extends SingleValue {
 			return RTerminal.STRING_S;
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return initCopy(new S(), delta);
+		}
+		
 	}
 	
 	static class D extends StringConst {
@@ -48,6 +53,11 @@ public abstract class StringConst extends SingleValue {
 			return RTerminal.STRING_D;
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return initCopy(new D(), delta);
+		}
+		
 	}
 	
 	
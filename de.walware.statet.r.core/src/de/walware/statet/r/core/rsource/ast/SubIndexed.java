@@ -53,6 +53,11 @@ public abstract class SubIndexed extends RAstNode {
 			return (element.getNodeType() == NodeType.SUB_INDEXED_S && super.equalsSingle(element));
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return initCopy(new S(), delta);
+		}
+		
 	}
 	
 	static class D extends SubIndexed {
@@ -78,6 +83,11 @@ public abstract class SubIndexed extends RAstNode {
 			return (element.getNodeType() == NodeType.SUB_INDEXED_D && super.equalsSingle(element));
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return initCopy(new D(), delta);
+		}
+		
 	}
 	
 	public static class Args extends RAstNode {
@@ -180,6 +190,19 @@ public abstract class SubIndexed extends RAstNode {
 		final void updateStopOffset() {
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			final Args copy = new Args(null);
+			initCopy(copy, delta);
+			return copy;
+		}
+		
+		final void initCopy(final Args copy, final int delta) {
+			for (final SubIndexed.Arg arg : fSpecs) {
+				copy.fSpecs.add((SubIndexed.Arg) arg.copyForReuse(copy, delta));
+			}
+		}
+		
 	}
 	
 	public static class Arg extends SpecItem {
@@ -207,6 +230,11 @@ public abstract class SubIndexed extends RAstNode {
 			return (element.getNodeType() == NodeType.SUB_INDEXED_ARG);
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return initCopy(new Arg(null), delta);
+		}
+		
 	}
 	
 	
@@ -348,4 +376,14 @@ public abstract class SubIndexed extends RAstNode {
 		}
 	}
 	
+	final SubIndexed initCopy(final SubIndexed copy, final int delta) {
+		copyExpr(fExpr, copy, copy.fExpr, delta);
+		fSublist.copyCommon(copy.fSublist, delta);
+		fSublist.initCopy(copy.fSublist, delta);
+		copy.fOpenOffset = shiftOffset(fOpenOffset, delta);
+		copy.fCloseOffset = shiftOffset(fCloseOffset, delta);
+		copy.fClose2Offset = shiftOffset(fClose2Offset, delta);
+		return copy;
+	}
+	
 }
@@ -50,6 +50,11 @@ public abstract class SubNamed extends RAstNode {
 			return (element.getNodeType() == NodeType.SUB_NAMED_PART && super.equalsSingle(element));
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return initCopy(new Named(), delta);
+		}
+		
 	}
 	
 	static class Slot extends SubNamed {
@@ -75,6 +80,11 @@ public abstract class SubNamed extends RAstNode {
 			return (element.getNodeType() == NodeType.SUB_NAMED_SLOT && super.equalsSingle(element));
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return initCopy(new Slot(), delta);
+		}
+		
 	}
 	
 	
@@ -197,4 +207,13 @@ public abstract class SubNamed extends RAstNode {
 		fStopOffset = fSubname.fStopOffset;
 	}
 	
+	final SubNamed initCopy(final SubNamed copy, final int delta) {
+		copyExpr(fExpr, copy, copy.fExpr, delta);
+		copy.fOperatorOffset = shiftOffset(fOperatorOffset, delta);
+		if (fSubname != null) {
+			copy.fSubname = (SingleValue) fSubname.copyForReuse(copy, delta);
+		}
+		return copy;
+	}
+	
 }
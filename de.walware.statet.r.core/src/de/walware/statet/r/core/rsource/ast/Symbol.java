@@ -34,6 +34,11 @@ public abstract class Symbol extends SingleValue {
 			return null;
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return initCopy(new Std(), delta);
+		}
+		
 	}
 	
 	
@@ -49,6 +54,11 @@ public abstract class Symbol extends SingleValue {
 			return RTerminal.SYMBOL_G;
 		}
 		
+		@Override
+		final RAstNode createCopy(final int delta) {
+			return initCopy(new G(), delta);
+		}
+		
 	}
 	
 	
@@ -19,11 +19,12 @@ import de.walware.ecommons.ltk.core.model.ISourceUnit;
 
 import de.walware.statet.r.core.model.IRElement;
 import de.walware.statet.r.core.model.IRFrame;
+import de.walware.statet.r.core.model.IRIndexedFrame;
 import de.walware.statet.r.core.model.IRLangElement;
 import de.walware.statet.r.core.model.RElementName;
 
 
-public class FilteredFrame implements IRFrame, IModelElement.Filter {
+public class FilteredFrame implements IRIndexedFrame, IModelElement.Filter {
 	
 	
 	private final IRFrame fFrame;
@@ -61,6 +62,16 @@ public class FilteredFrame implements IRFrame, IModelElement.Filter {
 		return fFrame.getModelChildren((fExclude != null) ? this : null);
 	}
 	
+	@Override
+	public List<? extends IRLangElement> getModelChildrenByPrefix(final String namePrefix,
+			final IModelElement.Filter filter) {
+		if (fFrame instanceof IRIndexedFrame) {
+			return ((IRIndexedFrame) fFrame).getModelChildrenByPrefix(namePrefix,
+					(fExclude != null) ? this : null );
+		}
+		return getModelChildren(filter);
+	}
+	
 	@Override
 	public List<? extends IRElement> getModelElements() {
 		return fFrame.getModelElements();
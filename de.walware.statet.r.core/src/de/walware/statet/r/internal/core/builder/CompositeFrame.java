@@ -11,11 +11,13 @@
 
 package de.walware.statet.r.internal.core.builder;
 
+import java.lang.ref.SoftReference;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.locks.Lock;
@@ -25,23 +27,77 @@ import de.walware.ecommons.ltk.core.model.IModelElement.Filter;
 
 import de.walware.statet.r.core.model.IRElement;
 import de.walware.statet.r.core.model.IRFrame;
+import de.walware.statet.r.core.model.IRIndexedFrame;
 import de.walware.statet.r.core.model.IRLangElement;
 import de.walware.statet.r.core.model.RElementName;
+import de.walware.statet.r.core.model.RModel;
+import de.walware.statet.r.core.model.RNamePrefixIndex;
 
 
-public class CompositeFrame implements IRFrame {
+public class CompositeFrame implements IRIndexedFrame {
+	
+	
+	/**
+	 * Loads unit elements of a frame on demand.
+	 */
+	public static interface ElementLoader {
+		
+		/**
+		 * Loads the unit elements of the specified source units.
+		 * 
+		 * @param frame the frame of the elements
+		 * @param suIds the ids of the source units
+		 * @return the loaded elements by source unit id
+		 */
+		Map<String, RUnitElement> load(CompositeFrame frame, Collection<String> suIds);
+		
+	}
 	
 	
 	private final int fFrameType;
 	private final RElementName fElementName;
 	
+	/**
+	 * The unit elements by source unit id. If the frame has a loader, the value is
+	 * <code>null</code> and the element is loaded on demand.
+	 */
 	public final Map<String, RUnitElement> fModelElements;
 	private final Lock fLock;
 	
+	private final ElementLoader fLoader;
+	/** The loaded unit elements, shared with the frames created from this frame */
+	private final RUnitElementCache fCache;
+	
+	/**
+	 * Index of the names of the model children to the ids of their source units (not the
+	 * elements, which are released by the cache), released if memory is required
+	 */
+	private volatile SoftReference<RNamePrefixIndex<String>> fModelChildrenIndex;
+	
 	
 	public CompositeFrame(final ReadWriteLock lock, final String packageName, final String projectName, final Map<String, RUnitElement> elements) {
+		this(lock, packageName, projectName, elements, null);
+	}
+	
+	public CompositeFrame(final ReadWriteLock lock, final String packageName, final String projectName, final Map<String, RUnitElement> elements,
+			final ElementLoader loader) {
+		this(lock, packageName, projectName, elements, loader,
+				(loader != null) ? new RUnitElementCache() : null );
+	}
+	
+	/**
+	 * Creates a new frame with the unit elements of the specified frame.
+	 */
+	public CompositeFrame(final ReadWriteLock lock, final String packageName, final String projectName, final CompositeFrame frame) {
+		this(lock, packageName, projectName, frame.fModelElements, frame.fLoader, frame.fCache);
+	}
+	
+	private CompositeFrame(final ReadWriteLock lock, final String packageName, final String projectName, final Map<String, RUnitElement> elements,
+			final ElementLoader loader, final RUnitElementCache cache) {
 		fLock = lock.readLock();
 		fModelElements = (elements != null) ? elements : new HashMap<String, RUnitElement>();
+		fLoader = loader;
+		fCache = (loader != null) ? cache : null;
 		
 		if (packageName != null) {
 			fFrameType = PACKAGE;
@@ -69,11 +125,55 @@ public class CompositeFrame implements IRFrame {
 		return fFrameType;
 	}
 	
+	/**
+	 * Returns all unit elements, loading missing elements if required.
+	 * 
+	 * Requires read lock.
+	 */
+	private Collection<RUnitElement> getUnitElements() {
+		if (fLoader == null) {
+			return fModelElements.values();
+		}
+		return getUnitElements(fModelElements.keySet());
+	}
+	
+	/**
+	 * Returns the unit elements of the specified source units, loading missing elements if
+	 * required.
+	 * 
+	 * Requires read lock.
+	 */
+	private Collection<RUnitElement> getUnitElements(final Collection<String> suIds) {
+		final List<RUnitElement> elements = new ArrayList<RUnitElement>(suIds.size());
+		List<String> missing = null;
+		for (final String suId : suIds) {
+			RUnitElement element = fModelElements.get(suId);
+			if (element == null && fCache != null) {
+				element = fCache.get(suId);
+			}
+			if (element != null) {
+				elements.add(element);
+			}
+			else if (fLoader != null && fModelElements.containsKey(suId)) {
+				if (missing == null) {
+					missing = new ArrayList<String>();
+				}
+				missing.add(suId);
+			}
+		}
+		if (missing != null) {
+			final Map<String, RUnitElement> loaded = fLoader.load(this, missing);
+			fCache.putAll(loaded);
+			elements.addAll(loaded.values());
+		}
+		return elements;
+	}
+	
 	@Override
 	public List<? extends IRElement> getModelElements() {
 		fLock.lock();
 		try {
-			final Collection<RUnitElement> values = fModelElements.values();
+			final Collection<RUnitElement> values = getUnitElements();
 			final List<IRElement> list = new ArrayList<IRElement>(values.size());
 			list.addAll(values);
 			return list;
@@ -90,7 +190,7 @@ public class CompositeFrame implements IRFrame {
 			if (fModelElements.isEmpty()) {
 				return false;
 			}
-			for (final IRElement element : fModelElements.values()) {
+			for (final IRElement element : getUnitElements()) {
 				if (element.hasModelChildren(filter)) {
 					return true;
 				}
@@ -110,7 +210,7 @@ public class CompositeFrame implements IRFrame {
 				return Collections.EMPTY_LIST;
 			}
 			final ArrayList<IRLangElement> children = new ArrayList<IRLangElement>();
-			for (final IRLangElement element : fModelElements.values()) {
+			for (final IRLangElement element : getUnitElements()) {
 				final List<? extends IRLangElement> elementChildren = element.getModelChildren(null);
 				if (!elementChildren.isEmpty()) {
 					children.ensureCapacity(children.size() + elementChildren.size());
@@ -128,6 +228,63 @@ public class CompositeFrame implements IRFrame {
 		}
 	}
 	
+	@Override
+	public List<? extends IRLangElement> getModelChildrenByPrefix(final String namePrefix, final Filter filter) {
+		fLock.lock();
+		try {
+			if (fModelElements.isEmpty()) {
+				return Collections.EMPTY_LIST;
+			}
+			final SoftReference<RNamePrefixIndex<String>> ref = fModelChildrenIndex;
+			RNamePrefixIndex<String> index = (ref != null) ? ref.get() : null;
+			if (index == null) {
+				index = createModelChildrenIndex();
+				fModelChildrenIndex = new SoftReference<>(index);
+			}
+			final List<String> suIds = index.getCandidates(namePrefix);
+			if (suIds.isEmpty()) {
+				return Collections.EMPTY_LIST;
+			}
+			final String key = RNamePrefixIndex.createKey(namePrefix);
+			final List<IRLangElement> children = new ArrayList<IRLangElement>();
+			for (final RUnitElement element : getUnitElements(new LinkedHashSet<String>(suIds))) {
+				for (final IRLangElement child : element.getModelChildren(null)) {
+					final RElementName childName = child.getElementName();
+					final String name = (childName != null) ? childName.getSegmentName() : null;
+					if (name != null && RNamePrefixIndex.createKey(name).startsWith(key)
+							&& (filter == null || filter.include(child)) ) {
+						children.add(child);
+					}
+				}
+			}
+			return children;
+		}
+		finally {
+			fLock.unlock();
+		}
+	}
+	
+	/**
+	 * Creates the index of the names of the model children to the ids of their source units.
+	 * 
+	 * Requires read lock.
+	 */
+	private RNamePrefixIndex<String> createModelChildrenIndex() {
+		final List<String> names = new ArrayList<String>();
+		final List<String> suIds = new ArrayList<String>();
+		for (final RUnitElement element : getUnitElements()) {
+			final String suId = element.getId();
+			for (final IRLangElement child : element.getModelChildren(null)) {
+				final RElementName childName = child.getElementName();
+				if (childName != null && childName.getSegmentName() != null) {
+					names.add(childName.getSegmentName());
+					suIds.add(suId);
+				}
+			}
+		}
+		return RNamePrefixIndex.forNames(names, suIds);
+	}
+	
 	@Override
 	public List<? extends IRFrame> getPotentialParents() {
 		return Collections.EMPTY_LIST;
@@ -136,17 +293,37 @@ public class CompositeFrame implements IRFrame {
 	
 	public RUnitElement setModelElement(final String suId, final RUnitElement element) {
 		element.fEnvir = this;
+		fModelChildrenIndex = null;
+		if (fLoader != null) {
+			final RUnitElement previous = fCache.get(suId);
+			fCache.put(suId, element);
+			fModelElements.put(suId, null);
+			return previous;
+		}
 		return fModelElements.put(suId, element);
 	}
 	
 	public RUnitElement removeModelElement(final String suId) {
+		fModelChildrenIndex = null;
+		if (fLoader != null) {
+			final RUnitElement previous = fCache.get(suId);
+			fCache.remove(suId);
+			fModelElements.remove(suId);
+			return previous;
+		}
 		return fModelElements.remove(suId);
 	}
 	
 	public void removeModelElements(final String modelTypeId) {
-		for (final Iterator<RUnitElement> iter= fModelElements.values().iterator(); iter.hasNext(); ) {
-			final RUnitElement unitElement= iter.next();
-			if (unitElement.getModelTypeId() == modelTypeId) {
+		fModelChildrenIndex = null;
+		for (final Iterator<Map.Entry<String, RUnitElement>> iter= fModelElements.entrySet().iterator(); iter.hasNext(); ) {
+			final Map.Entry<String, RUnitElement> entry= iter.next();
+			final RUnitElement unitElement= entry.getValue();
+			// elements not loaded are always R unit elements
+			if (((unitElement != null) ? unitElement.getModelTypeId() : RModel.TYPE_ID) == modelTypeId) {
+				if (fCache != null) {
+					fCache.remove(entry.getKey());
+				}
 				iter.remove();
 			}
 		}
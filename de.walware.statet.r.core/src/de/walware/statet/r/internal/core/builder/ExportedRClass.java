@@ -24,7 +24,7 @@ public class ExportedRClass extends ExportedRElement implements IRClass, Seriali
 	private static final long serialVersionUID = -7356541747661973279L;
 	
 	
-	private List<String> fSuperClassNames;
+	List<String> fSuperClassNames;
 	
 	
 	public ExportedRClass(final IRLangElement parent, final IRClass sourceElement) {
@@ -64,15 +64,15 @@ public class ExportedRElement implements IRLangElement, Serializable {
 	}
 	
 	
-	private IRLangElement fParent;
-	private int fElementType;
-	private RElementName fElementName;
-	private String fElementId;
-	
-	private int fSourceOffset;
-	private int fSourceLength;
-	private int fNameOffset;
-	private int fNameLength;
+	IRLangElement fParent;
+	int fElementType;
+	RElementName fElementName;
+	String fElementId;
+	
+	int fSourceOffset;
+	int fSourceLength;
+	int fNameOffset;
+	int fNameLength;
 	
 	
 	public ExportedRElement(final IRLangElement parent, final IRLangElement sourceElement) {
@@ -24,7 +24,7 @@ public class ExportedRMethod extends ExportedRElement implements IRMethod, Seria
 	private static final long serialVersionUID = -5410258006288951401L;
 	
 	
-	private ArgsDefinition fArgs;
+	ArgsDefinition fArgs;
 	
 	
 	public ExportedRMethod(final IRLangElement parent, final IRMethod sourceElement) {
@@ -57,6 +57,8 @@ public class RBuildReconciler extends RReconciler {
 	}
 	
 	/** for file build 
+	 * 
+	 * Can be called by multiple threads in parallel (for different source units).
 	 * @throws CoreException
 	 **/
 	public IRModelInfo build(final RSuModelContainer adapter, final IProgressMonitor monitor) {
@@ -78,13 +80,19 @@ public class RBuildReconciler extends RReconciler {
 			throw new OperationCanceledException();
 		}
 		
-		updateAst(data, monitor);
-		
-		if (this.stop || monitor.isCanceled()) {
-			throw new OperationCanceledException();
+		final Worker worker= acquireWorker();
+		try {
+			updateAst(worker, data, monitor);
+			
+			if (this.stop || monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			
+			updateModel(worker, data);
+		}
+		finally {
+			releaseWorker(worker);
 		}
-		
-		updateModel(data);
 		
 		if (this.stop || monitor.isCanceled()) {
 			throw new OperationCanceledException();
@@ -93,19 +101,23 @@ public class RBuildReconciler extends RReconciler {
 //		final IProblemRequestor problemRequestor= su.getProblemRequestor();
 //		if (problemRequestor != null) {
 //			problemRequestor.beginReportingSequence();
-			try {
-				final List<RAstNode> comments= ((SourceComponent) data.ast.root).getComments();
-				this.taskScanner.setup((IResource) su.getResource());
-				final ILineInformation lines= data.content.getLines();
-				for (final RAstNode comment : comments) {
-						final int offset= comment.getOffset()+1;
-						this.taskScanner.checkForTasks(data.content.getText().substring(
-								offset, offset+comment.getLength()-1 ), offset, lines );
+			final List<RAstNode> comments= ((SourceComponent) data.ast.root).getComments();
+			synchronized (this.taskScanner) {
+				try {
+					this.taskScanner.setup((IResource) su.getResource());
+					final ILineInformation lines= data.content.getLines();
+					for (final RAstNode comment : comments) {
+							final int offset= comment.getOffset()+1;
+							this.taskScanner.checkForTasks(data.content.getText().substring(
+									offset, offset+comment.getLength()-1 ), offset, lines );
+					}
+				}
+				catch (final Exception e) {
+					synchronized (this.statusCollector) {
+						this.statusCollector.add(new Status(IStatus.ERROR, RCore.PLUGIN_ID,
+								ICommonStatusConstants.BUILD_ERROR, "Failed to create task marker(s).", e));
+					}
 				}
-			}
-			catch (final Exception e) {
-				this.statusCollector.add(new Status(IStatus.ERROR, RCore.PLUGIN_ID,
-						ICommonStatusConstants.BUILD_ERROR, "Failed to create task marker(s).", e));
 			}
 //			f2SyntaxReporter.run(su, ast, problemRequestor);
 //			problemRequestor.endReportingSequence();
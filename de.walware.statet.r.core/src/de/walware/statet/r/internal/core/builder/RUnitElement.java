@@ -14,7 +14,6 @@ package de.walware.statet.r.internal.core.builder;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
 import java.util.Collections;
@@ -40,12 +39,19 @@ public class RUnitElement implements IRLangElement, Serializable {
 	private static final long serialVersionUID = 2909953007129363256L;
 	
 	
-	public static RUnitElement read(final IRSourceUnit su, final CompositeFrame envir, final InputStream input) throws IOException, ClassNotFoundException {
+	/**
+	 * Reads the element saved by {@link #save(OutputStream)}.
+	 */
+	public static RUnitElement read(final IRSourceUnit su, final CompositeFrame envir, final InputStream input) throws IOException {
+		return new RUnitElementCodec.Reader().read(su, envir, input);
+	}
+	
+	/**
+	 * Reads the element saved by Java serialization (up to index version 17).
+	 */
+	public static RUnitElement readSerialized(final InputStream input) throws IOException, ClassNotFoundException {
 		final ObjectInputStream o = new ObjectInputStream(input);
-		final RUnitElement element = (RUnitElement) o.readObject();
-		element.fSourceUnit = su;
-		element.fEnvir = envir;
-		return element;
+		return (RUnitElement) o.readObject();
 	}
 	
 	
@@ -127,9 +133,7 @@ public class RUnitElement implements IRLangElement, Serializable {
 	
 	
 	public void save(final OutputStream outputStream) throws IOException {
-		final ObjectOutputStream o = new ObjectOutputStream(outputStream);
-		o.writeObject(this);
-		o.flush();
+		new RUnitElementCodec.Writer().write(this, outputStream);
 	}
 	
 	
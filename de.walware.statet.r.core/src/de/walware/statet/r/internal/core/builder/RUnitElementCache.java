@@ -0,0 +1,80 @@
+/*=============================================================================#
+ # Copyright (c) 2015 Stephan Wahlbrink (WalWare.de) and others.
+ # All rights reserved. This program and the accompanying materials
+ # are made available under the terms of the Eclipse Public License v1.0
+ # which accompanies this distribution, and is available at
+ # http://www.eclipse.org/legal/epl-v10.html
+ # 
+ # Contributors:
+ #     Stephan Wahlbrink - initial API and implementation
+ #=============================================================================*/
+
+package de.walware.statet.r.internal.core.builder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+
+/**
+ * Size-bounded cache of the unit elements of a project loaded on demand by {@link CompositeFrame}.
+ * 
+ * The cache is shared by the frame of the project and the frames created from it. The least
+ * recently used elements are evicted if the cache is full; they are loaded again if required.
+ */
+public class RUnitElementCache {
+	
+	
+	/**
+	 * Maximum count of unit elements cached per project.
+	 */
+	private static final int MAX_SIZE= Integer.getInteger(
+			"de.walware.statet.r.core.index.elementCacheSize", 1000 ); //$NON-NLS-1$
+	
+	
+	private final LinkedHashMap<String, RUnitElement> elements;
+	
+	
+	public RUnitElementCache() {
+		this(MAX_SIZE);
+	}
+	
+	public RUnitElementCache(final int maxSize) {
+		this.elements= new LinkedHashMap<String, RUnitElement>(Math.min(maxSize, 0x400), 0.75f, true) {
+			
+			private static final long serialVersionUID= 1L;
+			
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<String, RUnitElement> eldest) {
+				return (size() > maxSize);
+			}
+			
+		};
+	}
+	
+	
+	/**
+	 * Returns the cached element of the source unit.
+	 * 
+	 * @return the element or <code>null</code> if not cached
+	 */
+	public synchronized RUnitElement get(final String suId) {
+		return this.elements.get(suId);
+	}
+	
+	public synchronized void put(final String suId, final RUnitElement element) {
+		this.elements.put(suId, element);
+	}
+	
+	public synchronized void putAll(final Map<String, RUnitElement> loaded) {
+		this.elements.putAll(loaded);
+	}
+	
+	public synchronized void remove(final String suId) {
+		this.elements.remove(suId);
+	}
+	
+	public synchronized void clear() {
+		this.elements.clear();
+	}
+	
+}
@@ -0,0 +1,415 @@
+/*=============================================================================#
+ # Copyright (c) 2015 Stephan Wahlbrink (WalWare.de) and others.
+ # All rights reserved. This program and the accompanying materials
+ # are made available under the terms of the Eclipse Public License v1.0
+ # which accompanies this distribution, and is available at
+ # http://www.eclipse.org/legal/epl-v10.html
+ # 
+ # Contributors:
+ #     Stephan Wahlbrink - initial API and implementation
+ #=============================================================================*/
+
+package de.walware.statet.r.internal.core.builder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.walware.ecommons.collections.ConstArrayList;
+
+import de.walware.statet.r.core.model.ArgsBuilder;
+import de.walware.statet.r.core.model.ArgsDefinition;
+import de.walware.statet.r.core.model.IRLangElement;
+import de.walware.statet.r.core.model.IRSourceUnit;
+import de.walware.statet.r.core.model.RElementName;
+
+
+/**
+ * Binary format of {@link RUnitElement}s stored in the R model index.
+ * 
+ * <pre>
+ * unit     = 'R' 'U' version:byte count:uint element*
+ * element  = kind:byte type:uint name id:string range range (args | classNames)?
+ * name     = count:uint segment*
+ * segment  = (type << 1 | indexed):uint index:int? name:string
+ * range    = offset+1:uint length:uint?     (no length, if offset is -1)
+ * args     = count+1:uint (name:string type:uint className:string)*     (0 = null)
+ * classNames = count+1:uint string*     (0 = null)
+ * string   = 0 (null) | 1 length:uint utf8 (new string) | index+2:uint (string table)
+ * </pre>
+ * 
+ * Integers are written as variable-length quantities (7 bit per byte); signed integers are
+ * zigzag encoded. Strings are written only once per unit, all repetitions (like the segment
+ * names of element names) refer to the string table.
+ */
+final class RUnitElementCodec {
+	
+	
+	static final byte VERSION= 1;
+	
+	private static final byte MAGIC_0= 'R';
+	private static final byte MAGIC_1= 'U';
+	
+	private static final byte KIND_ELEMENT= 0;
+	private static final byte KIND_METHOD= 1;
+	private static final byte KIND_CLASS= 2;
+	
+	
+	static final class Writer {
+		
+		
+		private byte[] buffer= new byte[0x400];
+		private int length;
+		
+		private final Map<String, Integer> stringTable= new HashMap<>();
+		
+		
+		public Writer() {
+		}
+		
+		
+		public void write(final RUnitElement unitElement, final OutputStream output)
+				throws IOException {
+			this.length= 0;
+			this.stringTable.clear();
+			
+			writeByte(MAGIC_0);
+			writeByte(MAGIC_1);
+			writeByte(VERSION);
+			
+			final List<IRLangElement> elements= unitElement.fElements;
+			writeUInt(elements.size());
+			for (final IRLangElement element : elements) {
+				writeElement((ExportedRElement) element);
+			}
+			
+			output.write(this.buffer, 0, this.length);
+		}
+		
+		private void writeElement(final ExportedRElement element) {
+			if (element instanceof ExportedRMethod) {
+				writeByte(KIND_METHOD);
+			}
+			else if (element instanceof ExportedRClass) {
+				writeByte(KIND_CLASS);
+			}
+			else {
+				writeByte(KIND_ELEMENT);
+			}
+			writeUInt(element.fElementType);
+			writeName(element.fElementName);
+			writeString(element.fElementId);
+			writeRange(element.fSourceOffset, element.fSourceLength);
+			writeRange(element.fNameOffset, element.fNameLength);
+			
+			if (element instanceof ExportedRMethod) {
+				writeArgs(((ExportedRMethod) element).getArgsDefinition());
+			}
+			else if (element instanceof ExportedRClass) {
+				writeStrings(((ExportedRClass) element).getExtendedClassNames());
+			}
+		}
+		
+		private void writeName(final RElementName name) {
+			int count= 0;
+			for (RElementName segment= name; segment != null; segment= segment.getNextSegment()) {
+				count++;
+			}
+			writeUInt(count);
+			for (RElementName segment= name; segment != null; segment= segment.getNextSegment()) {
+				if (segment instanceof RElementName.IndexElementName) {
+					writeUInt((segment.getType() << 1) | 1);
+					writeInt(((RElementName.IndexElementName) segment).getIndex());
+				}
+				else {
+					writeUInt(segment.getType() << 1);
+				}
+				writeString(segment.getSegmentName());
+			}
+		}
+		
+		private void writeRange(final int offset, final int length) {
+			if (offset >= 0) {
+				writeUInt(offset + 1);
+				writeUInt(length);
+			}
+			else {
+				writeUInt(0);
+			}
+		}
+		
+		private void writeArgs(final ArgsDefinition args) {
+			if (args == null) {
+				writeUInt(0);
+				return;
+			}
+			final int count= args.size();
+			writeUInt(count + 1);
+			for (int i= 0; i < count; i++) {
+				final ArgsDefinition.Arg arg= args.get(i);
+				writeString(arg.name);
+				writeUInt(arg.type);
+				writeString(arg.className);
+			}
+		}
+		
+		private void writeStrings(final List<String> strings) {
+			if (strings == null) {
+				writeUInt(0);
+				return;
+			}
+			writeUInt(strings.size() + 1);
+			for (final String s : strings) {
+				writeString(s);
+			}
+		}
+		
+		private void writeString(final String s) {
+			if (s == null) {
+				writeUInt(0);
+				return;
+			}
+			final Integer index= this.stringTable.get(s);
+			if (index != null) {
+				writeUInt(index.intValue() + 2);
+				return;
+			}
+			this.stringTable.put(s, Integer.valueOf(this.stringTable.size()));
+			final byte[] bytes= s.getBytes(StandardCharsets.UTF_8);
+			writeUInt(1);
+			writeUInt(bytes.length);
+			ensureCapacity(bytes.length);
+			System.arraycopy(bytes, 0, this.buffer, this.length, bytes.length);
+			this.length+= bytes.length;
+		}
+		
+		private void writeInt(final int value) {
+			writeUInt((value << 1) ^ (value >> 31));
+		}
+		
+		private void writeUInt(int value) {
+			ensureCapacity(5);
+			while ((value & ~0x7f) != 0) {
+				this.buffer[this.length++]= (byte) ((value & 0x7f) | 0x80);
+				value>>>= 7;
+			}
+			this.buffer[this.length++]= (byte) value;
+		}
+		
+		private void writeByte(final byte value) {
+			ensureCapacity(1);
+			this.buffer[this.length++]= value;
+		}
+		
+		private void ensureCapacity(final int n) {
+			if (this.length + n > this.buffer.length) {
+				this.buffer= Arrays.copyOf(this.buffer,
+						Math.max(this.buffer.length * 2, this.length + n) );
+			}
+		}
+		
+	}
+	
+	static final class Reader {
+		
+		
+		private byte[] buffer= new byte[0x400];
+		private int length;
+		private int position;
+		
+		private final List<String> stringTable= new ArrayList<>();
+		
+		
+		public Reader() {
+		}
+		
+		
+		public RUnitElement read(final IRSourceUnit su, final CompositeFrame envir,
+				final InputStream input) throws IOException {
+			readFully(input);
+			this.position= 0;
+			this.stringTable.clear();
+			try {
+				if (readByte() != MAGIC_0 || readByte() != MAGIC_1) {
+					throw new IOException("Unsupported format.");
+				}
+				final byte version= readByte();
+				if (version != VERSION) {
+					throw new IOException("Unsupported format version: " + version + '.');
+				}
+				
+				final int count= readUInt();
+				final List<IRLangElement> elements= new ArrayList<>(count);
+				final RUnitElement unitElement= new RUnitElement(su, elements);
+				unitElement.fEnvir= envir;
+				for (int i= 0; i < count; i++) {
+					elements.add(readElement(unitElement));
+				}
+				return unitElement;
+			}
+			catch (final IndexOutOfBoundsException e) {
+				throw new IOException("Invalid data.", e);
+			}
+		}
+		
+		private ExportedRElement readElement(final RUnitElement parent) throws IOException {
+			final byte kind= readByte();
+			final ExportedRElement element;
+			switch (kind) {
+			case KIND_ELEMENT:
+				element= new ExportedRElement();
+				break;
+			case KIND_METHOD:
+				element= new ExportedRMethod();
+				break;
+			case KIND_CLASS:
+				element= new ExportedRClass();
+				break;
+			default:
+				throw new IOException("Unsupported element kind: " + kind + '.');
+			}
+			element.fParent= parent;
+			element.fElementType= readUInt();
+			element.fElementName= readName();
+			element.fElementId= readString();
+			element.fSourceOffset= readUInt() - 1;
+			if (element.fSourceOffset >= 0) {
+				element.fSourceLength= readUInt();
+			}
+			element.fNameOffset= readUInt() - 1;
+			if (element.fNameOffset >= 0) {
+				element.fNameLength= readUInt();
+			}
+			
+			switch (kind) {
+			case KIND_METHOD:
+				((ExportedRMethod) element).fArgs= readArgs();
+				break;
+			case KIND_CLASS:
+				((ExportedRClass) element).fSuperClassNames= readStrings();
+				break;
+			default:
+				break;
+			}
+			return element;
+		}
+		
+		private RElementName readName() {
+			final int count= readUInt();
+			if (count == 0) {
+				return null;
+			}
+			final int[] types= new int[count];
+			final int[] indexes= new int[count];
+			final String[] names= new String[count];
+			for (int i= 0; i < count; i++) {
+				types[i]= readUInt();
+				if ((types[i] & 1) != 0) {
+					indexes[i]= readInt();
+				}
+				names[i]= readString();
+			}
+			RElementName name= null;
+			for (int i= count - 1; i >= 0; i--) {
+				name= ((types[i] & 1) != 0) ?
+						RElementName.create(types[i] >>> 1, names[i], indexes[i], name) :
+						RElementName.create(types[i] >>> 1, names[i], name);
+			}
+			return name;
+		}
+		
+		private ArgsDefinition readArgs() {
+			final int count= readUInt() - 1;
+			if (count < 0) {
+				return null;
+			}
+			final ArgsBuilder builder= new ArgsBuilder();
+			for (int i= 0; i < count; i++) {
+				final String name= readString();
+				final int type= readUInt();
+				final String className= readString();
+				builder.add(name, type, className);
+			}
+			return builder.toDef();
+		}
+		
+		private List<String> readStrings() {
+			final int count= readUInt() - 1;
+			if (count < 0) {
+				return null;
+			}
+			final String[] strings= new String[count];
+			for (int i= 0; i < count; i++) {
+				strings[i]= readString();
+			}
+			return new ConstArrayList<>(strings);
+		}
+		
+		private String readString() {
+			final int ref= readUInt();
+			switch (ref) {
+			case 0:
+				return null;
+			case 1: {
+				final int n= readUInt();
+				if (this.position + n > this.length) {
+					throw new ArrayIndexOutOfBoundsException();
+				}
+				final String s= new String(this.buffer, this.position, n, StandardCharsets.UTF_8);
+				this.position+= n;
+				this.stringTable.add(s);
+				return s;
+			}
+			default:
+				return this.stringTable.get(ref - 2);
+			}
+		}
+		
+		private int readInt() {
+			final int value= readUInt();
+			return (value >>> 1) ^ -(value & 1);
+		}
+		
+		private int readUInt() {
+			int value= 0;
+			int shift= 0;
+			byte b;
+			do {
+				b= readByte();
+				value|= (b & 0x7f) << shift;
+				shift+= 7;
+			} while ((b & 0x80) != 0);
+			return value;
+		}
+		
+		private byte readByte() {
+			if (this.position >= this.length) {
+				throw new ArrayIndexOutOfBoundsException();
+			}
+			return this.buffer[this.position++];
+		}
+		
+		private void readFully(final InputStream input) throws IOException {
+			this.length= 0;
+			int n;
+			while ((n= input.read(this.buffer, this.length, this.buffer.length - this.length)) >= 0) {
+				this.length+= n;
+				if (this.length == this.buffer.length) {
+					this.buffer= Arrays.copyOf(this.buffer, this.buffer.length * 2);
+				}
+			}
+		}
+		
+	}
+	
+	
+	private RUnitElementCodec() {
+	}
+	
+}
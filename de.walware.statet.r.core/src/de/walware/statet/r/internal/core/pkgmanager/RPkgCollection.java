@@ -12,8 +12,11 @@
 package de.walware.statet.r.internal.core.pkgmanager;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import de.walware.ecommons.collections.SortedArraySet;
 
@@ -32,6 +35,9 @@ public class RPkgCollection<T extends IRPkg> implements IRPkgCollection<T> {
 	
 	private volatile List<String> names;
 	
+	/** Packages by name, value is the package or an array with the packages in source order */
+	private volatile Map<String, Object> nameIndex;
+	
 	
 	public RPkgCollection(final int size) {
 		this.sources= new ArrayList<>(size);
@@ -43,6 +49,8 @@ public class RPkgCollection<T extends IRPkg> implements IRPkgCollection<T> {
 		if (list != null) {
 			this.sources.add((source != null) ? source : ""); //$NON-NLS-1$
 			this.pkgLists.add(list);
+			this.names= null;
+			this.nameIndex= null;
 		}
 	}
 	
@@ -72,52 +80,88 @@ public class RPkgCollection<T extends IRPkg> implements IRPkgCollection<T> {
 			this.names= Collections.emptyList();
 			return;
 		}
-		{	final SortedArraySet<String> names= new SortedArraySet<>(
-					new String[Math.min(16, this.pkgLists.get(0).size())], 0, RPkgUtil.COLLATOR );
-			for (final RPkgList<? extends IRPkg> list : this.pkgLists) {
-				for (int i= 0; i < list.size(); i++) {
-					names.addE(list.get(i).getName());
+		{	final String[] array= getNameIndex().keySet().toArray(new String[0]);
+			Arrays.sort(array, RPkgUtil.COLLATOR);
+			final SortedArraySet<String> names= new SortedArraySet<>(
+					array, array.length, RPkgUtil.COLLATOR );
+			this.names= Collections.unmodifiableList(names);
+		}
+	}
+	
+	private Map<String, Object> getNameIndex() {
+		Map<String, Object> index= this.nameIndex;
+		if (index == null) {
+			index= createNameIndex();
+		}
+		return index;
+	}
+	
+	private synchronized Map<String, Object> createNameIndex() {
+		if (this.nameIndex != null) {
+			return this.nameIndex;
+		}
+		int size= 0;
+		for (final RPkgList<T> list : this.pkgLists) {
+			size+= list.size();
+		}
+		final Map<String, Object> index= new HashMap<>(size + size / 3 + 1);
+		for (final RPkgList<T> list : this.pkgLists) {
+			for (int i= 0; i < list.size(); i++) {
+				final T pkg= list.get(i);
+				final Object existing= index.put(pkg.getName(), pkg);
+				if (existing != null) {
+					final Object[] pkgs;
+					if (existing instanceof Object[]) {
+						final Object[] existingPkgs= (Object[]) existing;
+						pkgs= Arrays.copyOf(existingPkgs, existingPkgs.length + 1);
+					}
+					else {
+						pkgs= new Object[] { existing, null };
+					}
+					pkgs[pkgs.length - 1]= pkg;
+					index.put(pkg.getName(), pkgs);
 				}
 			}
-			this.names= Collections.unmodifiableList(names);
 		}
+		this.nameIndex= index;
+		return index;
 	}
 	
 	@Override
 	public boolean containsByName(final String name) {
-		for (final RPkgList<? extends IRPkg> list : this.pkgLists) {
-			final int idx= list.indexOf(name);
-			if (idx >= 0) {
-				return true;
-			}
-		}
-		return false;
+		return getNameIndex().containsKey(name);
 	}
 	
 	@Override
+	@SuppressWarnings("unchecked")
 	public T getFirstByName(final String name) {
-		for (final RPkgList<T> list : this.pkgLists) {
-			final int idx= list.indexOf(name);
-			if (idx >= 0) {
-				return list.get(idx);
-			}
+		final Object value= getNameIndex().get(name);
+		if (value instanceof Object[]) {
+			return (T) ((Object[]) value)[0];
 		}
-		return null; 
+		return (T) value;
 	}
 	
 	@Override
+	@SuppressWarnings("unchecked")
 	public List<T> getByName(final String name) {
-		List<T> result= null;
-		for (final RPkgList<T> list : this.pkgLists) {
-			final int idx= list.indexOf(name);
-			if (idx >= 0) {
-				if (result == null) {
-					result= new ArrayList<>(2);
-				}
-				result.add(list.get(idx));
+		final Object value= getNameIndex().get(name);
+		if (value == null) {
+			return Collections.<T>emptyList();
+		}
+		final List<T> result;
+		if (value instanceof Object[]) {
+			final Object[] pkgs= (Object[]) value;
+			result= new ArrayList<>(pkgs.length);
+			for (int i= 0; i < pkgs.length; i++) {
+				result.add((T) pkgs[i]);
 			}
 		}
-		return (result != null) ? result : Collections.<T>emptyList(); 
+		else {
+			result= new ArrayList<>(2);
+			result.add((T) value);
+		}
+		return result;
 	}
 	
 	@Override
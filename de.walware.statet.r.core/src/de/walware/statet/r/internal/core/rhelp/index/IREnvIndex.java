@@ -87,6 +87,11 @@ public interface IREnvIndex {
 	 */
 	String URL_TXT_FIELD_NAME= "url.txt"; //$NON-NLS-1$
 	
+	/**
+	 * Lucene field name for the content hash of the Rd database of a package.
+	 */
+	String RD_HASH_FIELD_NAME= "rd.hash"; //$NON-NLS-1$
+	
 	/**
 	 * Lucene field name for analyzed authors.
 	 */
@@ -11,7 +11,9 @@
 
 package de.walware.statet.r.internal.core.rhelp.index;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.channels.ClosedByInterruptException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -36,8 +38,11 @@ import org.apache.lucene.search.highlight.DefaultEncoder;
 import org.apache.lucene.search.highlight.Encoder;
 import org.apache.lucene.search.vectorhighlight.FastVectorHighlighter;
 import org.apache.lucene.search.vectorhighlight.FieldQuery;
+import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.store.MMapDirectory;
 import org.apache.lucene.store.SimpleFSDirectory;
+import org.apache.lucene.util.Constants;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.osgi.util.NLS;
@@ -100,15 +105,70 @@ public class REnvIndexReader implements IREnvIndex {
 	static final Encoder DEFAULT_ENCODER= new DefaultEncoder();
 	
 	
+	/**
+	 * Creates the directory for read-only access to the index.
+	 * 
+	 * NIOFSDirectory doesn't like Thread#interrupt() used by the information hover manager.
+	 * Reading from mapped files is not affected by interrupts, only the opening of the files
+	 * (see {@link #openReader(Directory)}), so MMapDirectory is used if supported.
+	 */
+	static FSDirectory openDirectory(final File indexDirectory) throws IOException {
+		if (Constants.JRE_IS_64BIT && MMapDirectory.UNMAP_SUPPORTED) {
+			return new MMapDirectory(indexDirectory, null);
+		}
+		return new SimpleFSDirectory(indexDirectory, null);
+	}
+	
+	/**
+	 * Opens the reader for the directory.
+	 * 
+	 * The files are opened by file channels which are closed if the thread is interrupted.
+	 * Therefore the interrupt state of the thread is cleared during the opening and restored
+	 * afterwards.
+	 */
+	private static IndexReader openReader(final Directory directory) throws IOException {
+		boolean interrupted= Thread.interrupted();
+		try {
+			while (true) {
+				try {
+					return DirectoryReader.open(directory);
+				}
+				catch (final IOException e) {
+					if (!isInterrupt(e)) {
+						throw e;
+					}
+					interrupted|= Thread.interrupted();
+				}
+			}
+		}
+		finally {
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+	
+	private static boolean isInterrupt(Throwable e) {
+		while (e != null) {
+			if (e instanceof ClosedByInterruptException) {
+				return true;
+			}
+			e= e.getCause();
+		}
+		return false;
+	}
+	
+	
 	private final IndexReader indexReader;
 	private IndexSearcher indexSearcher;
 	
 	
 	public REnvIndexReader(final IREnvConfiguration rEnvConfig) throws Exception {
-//		NIOFSDirectory doesn't like Thread#interrupt() used by the information hover manager
-//		final FSDirectory directory= FSDirectory.open(SaveUtil.getIndexDirectory(rEnvConfig));
-		final FSDirectory directory= new SimpleFSDirectory(REnvIndexWriter.getIndexDirectory(rEnvConfig), null);
-		this.indexReader= DirectoryReader.open(directory);
+		this(openDirectory(REnvIndexWriter.getIndexDirectory(rEnvConfig)));
+	}
+	
+	REnvIndexReader(final Directory directory) throws IOException {
+		this.indexReader= openReader(directory);
 		this.indexSearcher= new IndexSearcher(this.indexReader);
 		this.indexSearcher.setSimilarity(SIMILARITY);
 	}
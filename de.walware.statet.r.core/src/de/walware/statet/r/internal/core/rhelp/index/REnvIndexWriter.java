@@ -36,6 +36,12 @@ import org.apache.lucene.index.LiveIndexWriterConfig;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.index.Terms;
 import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.store.FSDirectory;
 import org.apache.lucene.store.SimpleFSDirectory;
 import org.apache.lucene.util.BytesRef;
@@ -47,6 +53,7 @@ import org.eclipse.core.runtime.Status;
 
 import de.walware.ecommons.collections.ImCollections;
 import de.walware.ecommons.collections.ImList;
+import de.walware.ecommons.collections.ImSet;
 import de.walware.ecommons.text.core.input.StringParserInput;
 import de.walware.ecommons.text.core.util.HtmlStripParserInput;
 
@@ -56,6 +63,7 @@ import de.walware.statet.r.core.RCore;
 import de.walware.statet.r.core.renv.IREnvConfiguration;
 import de.walware.statet.r.core.rhelp.IRHelpKeyword;
 import de.walware.statet.r.core.rhelp.IRHelpKeywordNode;
+import de.walware.statet.r.core.rhelp.IRHelpPage;
 import de.walware.statet.r.core.rhelp.IRPkgHelp;
 import de.walware.statet.r.internal.core.RCorePlugin;
 import de.walware.statet.r.internal.core.rhelp.REnvHelp;
@@ -190,15 +198,26 @@ public class REnvIndexWriter implements IREnvIndex {
 	
 	private static Analyzer WRITE_ANALYZER= new WriteAnalyzer();
 	
+	private static final ImSet<String> LOAD_RD_HASH_SELECTOR= ImCollections.newSet(
+			PACKAGE_FIELD_NAME,
+			RD_HASH_FIELD_NAME );
 	
-	/** Worker for packages. Single thread! */
-	class PackageWorker {
+	
+	/**
+	 * Worker for packages. Single thread!
+	 * 
+	 * Multiple workers can be used in parallel, each by its own thread.
+	 */
+	public class PackageWorker {
+		
 		
+		private RPkgHelp currentPackage;
 		
 		private final FlagField doctypeField_PKG_DESCRIPTION= new FlagField(DOCTYPE_FIELD_NAME, PKG_DESCRIPTION_DOCTYPE);
 		private final FlagField doctypeField_PAGE= new FlagField(DOCTYPE_FIELD_NAME, PAGE_DOCTYPE);
 		private final NameField packageField= new NameField(PACKAGE_FIELD_NAME);
 		private final NameField pageField= new NameField(PAGE_FIELD_NAME);
+		private final NameField rdHashField= new NameField(RD_HASH_FIELD_NAME);
 		private final TxtField titleTxtField= new TxtField(TITLE_TXT_FIELD_NAME, 2.0f);
 		private final MultiValueFieldList<NameField> aliasFields= MultiValueFieldList.forNameField(
 				ALIAS_FIELD_NAME );
@@ -221,15 +240,116 @@ public class REnvIndexWriter implements IREnvIndex {
 				new StringParserInput(0x800), 0x800 );
 		
 		
-		public PackageWorker() {
+		private PackageWorker() {
+		}
+		
+		
+		/**
+		 * Begins the package.
+		 * 
+		 * If the help of the package is unchanged (see {@link REnvIndexWriter#isPackageHelpUnchanged(String)}),
+		 * the existing help pages are reused and only the package description is updated.
+		 * 
+		 * @param packageDesription the description of the package
+		 * @param rdHash the content hash of the Rd database of the package or <code>null</code>
+		 * @return <code>true</code> if the existing help pages are reused, otherwise <code>false</code>
+		 *     (help pages must be added)
+		 * @throws AbortIndexException
+		 */
+		public boolean beginPackage(final IRPkgDescription packageDesription, final String rdHash)
+				throws AbortIndexException {
+			final String name= packageDesription.getName();
+			if (this.currentPackage != null) {
+				throw new IllegalArgumentException();
+			}
+			try {
+				addStatus(new Status(IStatus.INFO, RCore.PLUGIN_ID, "Beginning package: '" + name + "'.")); //$NON-NLS-1$ //$NON-NLS-2$
+				
+				this.currentPackage= new RPkgHelp(name, packageDesription.getTitle(),
+						packageDesription.getVersion().toString(),
+						REnvIndexWriter.this.rEnvConfig.getReference(), packageDesription.getBuilt() );
+				final IRPkgHelp unchangedPackage;
+				synchronized (REnvIndexWriter.this.packages) {
+					REnvIndexWriter.this.existingPackages.remove(name);
+					unchangedPackage= REnvIndexWriter.this.unchangedPackages.remove(name);
+					REnvIndexWriter.this.packages.put(name, this.currentPackage);
+				}
+				if (unchangedPackage != null) {
+					final BooleanQuery q= new BooleanQuery(true);
+					q.add(REnvIndexReader.DOCTYPE_PKG_DESCRIPTION_QUERY, Occur.MUST);
+					q.add(new TermQuery(new Term(PACKAGE_FIELD_NAME, name)), Occur.MUST);
+					REnvIndexWriter.this.luceneWriter.deleteDocuments(q);
+					for (final IRHelpPage page : unchangedPackage.getHelpPages()) {
+						this.currentPackage.addPage(new RHelpPage(this.currentPackage,
+								page.getName(), page.getTitle() ));
+					}
+				}
+				else {
+					REnvIndexWriter.this.luceneWriter.deleteDocuments(new Term(PACKAGE_FIELD_NAME, name));
+				}
+				addToLucene(packageDesription, rdHash);
+				return (unchangedPackage != null);
+			}
+			catch (final IOException e) {
+				throw new AbortIndexException(e);
+			}
+			catch (final OutOfMemoryError e) {
+				throw new AbortIndexException(e);
+			}
+		}
+		
+		public void add(final RdItem item) throws AbortIndexException {
+			if (this.currentPackage == null || !this.currentPackage.getName().equals(item.getPkg())) {
+				throw new IllegalArgumentException();
+			}
+			try {
+				this.currentPackage.addPage(new RHelpPage(this.currentPackage, item.getName(), item.getTitle()));
+				addToLucene(item);
+			}
+			catch (final IOException e) {
+				throw new AbortIndexException(e);
+			}
+			catch (final OutOfMemoryError e) {
+				throw new AbortIndexException(e);
+			}
+		}
+		
+		public void endPackage() throws AbortIndexException {
+			if (DEBUG) {
+				addStatus(new Status(IStatus.INFO, RCore.PLUGIN_ID, "Finishing package.")); //$NON-NLS-1$
+				
+				final Runtime runtime= Runtime.getRuntime();
+				final long maxMemory= runtime.maxMemory();
+				final long allocatedMemory= runtime.totalMemory();
+				final long freeMemory= runtime.freeMemory();
+				final LiveIndexWriterConfig config= REnvIndexWriter.this.luceneWriter.getConfig();
+				final StringBuilder sb= new StringBuilder("Memory status:\n"); //$NON-NLS-1$
+				sb.append("TempBuilder-capycity: ").append(this.tempBuilder.capacity()).append('\n'); //$NON-NLS-1$
+				sb.append("Lucene-buffersize: ").append((long) (config.getRAMBufferSizeMB() * 1024.0)).append('\n'); //$NON-NLS-1$
+				sb.append("Memory-free: ").append(freeMemory / 1024L).append('\n'); //$NON-NLS-1$
+				sb.append("Memory-total: ").append(allocatedMemory / 1024L).append('\n'); //$NON-NLS-1$
+				sb.append("Memory-max: ").append(maxMemory / 1024L).append('\n'); //$NON-NLS-1$
+				addStatus(new Status(IStatus.INFO, RCore.PLUGIN_ID, sb.toString()));
+			}
+			
+			if (this.currentPackage == null) {
+				return;
+			}
+			this.currentPackage.freeze();
+			this.currentPackage= null;
 		}
 		
 		
-		private void addToLucene(final IRPkgDescription item) throws CorruptIndexException, IOException {
+		private void addToLucene(final IRPkgDescription item, final String rdHash)
+				throws CorruptIndexException, IOException {
 			final Document doc= new Document();
 			doc.add(this.doctypeField_PKG_DESCRIPTION);
 			this.packageField.setStringValue(item.getName());
 			doc.add(this.packageField);
+			if (rdHash != null) {
+				this.rdHashField.setStringValue(rdHash);
+				doc.add(this.rdHashField);
+			}
 			this.descriptionTxtField.setStringValue(item.getDescription());
 			doc.add(this.descriptionTxtField);
 			if (item.getAuthor() != null) {
@@ -405,6 +525,8 @@ public class REnvIndexWriter implements IREnvIndex {
 	
 	private String docDir;
 	private Map<String, IRPkgHelp> existingPackages;
+	private Map<String, String> existingRdHashes;
+	private Map<String, IRPkgHelp> unchangedPackages;
 	private Map<String, IRPkgHelp> packages;
 	private LinkedHashMap<String, RHelpKeywordGroup> keywordGroups;
 	
@@ -412,18 +534,12 @@ public class REnvIndexWriter implements IREnvIndex {
 	private FSDirectory luceneDirectory;
 	private IndexWriter luceneWriter;
 	
-	private RPkgHelp currentPackage;
-	
 	private Object indexLock;
 	
 	private Map<String, String> rEnvSharedProperties;
 	
 	private boolean reset;
 	
-	// At moment we use a single worker; multi-threading is not worth, because R is the bottleneck.
-	// For multi-threading: thread pool / jobs with worker / thread, currentPackage to worker, ...
-	private final PackageWorker worker= new PackageWorker();
-	
 	private MultiStatus status;
 	
 	
@@ -436,13 +552,22 @@ public class REnvIndexWriter implements IREnvIndex {
 	public void log(final IStatus status) {
 		final MultiStatus multiStatus= this.status;
 		if (multiStatus != null) {
-			multiStatus.add(status);
+			synchronized (multiStatus) {
+				multiStatus.add(status);
+			}
 		}
 		else {
 			RCorePlugin.log(status);
 		}
 	}
 	
+	private void addStatus(final IStatus status) {
+		final MultiStatus multiStatus= this.status;
+		synchronized (multiStatus) {
+			multiStatus.add(status);
+		}
+	}
+	
 	public void beginBatch(final boolean reset) throws AbortIndexException {
 		if (this.luceneWriter != null) {
 			throw new IllegalStateException();
@@ -476,6 +601,7 @@ public class REnvIndexWriter implements IREnvIndex {
 								}
 							}
 						}
+						this.existingRdHashes= loadRdHashes(dirReader);
 						
 						final IndexWriterConfig config= createWriterConfig();
 						config.setOpenMode(OpenMode.CREATE_OR_APPEND);
@@ -494,6 +620,7 @@ public class REnvIndexWriter implements IREnvIndex {
 				if (this.luceneWriter == null) {
 					this.reset= true;
 					this.existingPackages= new HashMap<>(0);
+					this.existingRdHashes= new HashMap<>(0);
 					
 					final IndexWriterConfig config= createWriterConfig();
 					config.setOpenMode(OpenMode.CREATE);
@@ -501,6 +628,7 @@ public class REnvIndexWriter implements IREnvIndex {
 				}
 			}
 			
+			this.unchangedPackages= new HashMap<>();
 			this.packages= new LinkedHashMap<>();
 			this.keywordGroups= new LinkedHashMap<>();
 		}
@@ -512,6 +640,36 @@ public class REnvIndexWriter implements IREnvIndex {
 		}
 	}
 	
+	private Map<String, String> loadRdHashes(final IndexReader dirReader) throws IOException {
+		final Map<String, String> hashes= new HashMap<>(64);
+		final IndexSearcher searcher= new IndexSearcher(dirReader);
+		final TopDocs docs= searcher.search(REnvIndexReader.DOCTYPE_PKG_DESCRIPTION_QUERY,
+				Math.max(dirReader.maxDoc(), 1) );
+		for (final ScoreDoc scoreDoc : docs.scoreDocs) {
+			final Document document= searcher.doc(scoreDoc.doc, LOAD_RD_HASH_SELECTOR);
+			final String name= document.get(PACKAGE_FIELD_NAME);
+			final String rdHash= document.get(RD_HASH_FIELD_NAME);
+			if (name != null && rdHash != null) {
+				hashes.put(name, rdHash);
+			}
+		}
+		return hashes;
+	}
+	
+	/**
+	 * Creates a new worker to add packages to the index.
+	 * 
+	 * The index writer allows to use multiple workers in parallel.
+	 * 
+	 * @return the worker
+	 */
+	public PackageWorker createPackageWorker() {
+		if (this.luceneWriter == null) {
+			throw new IllegalStateException();
+		}
+		return new PackageWorker();
+	}
+	
 	private IndexWriterConfig createWriterConfig() {
 		final IndexWriterConfig config= new IndexWriterConfig(Version.LATEST, WRITE_ANALYZER);
 		config.setSimilarity(SIMILARITY);
@@ -572,12 +730,21 @@ public class REnvIndexWriter implements IREnvIndex {
 	}
 	
 	/**
+	 * Checks if the package in the index is up-to-date.
+	 * 
+	 * If the content hash of the Rd database is known, the help of the package is reused only
+	 * if the hash is unchanged. If only the description changed or the hash is missing in the
+	 * index, the help pages are marked to be reused, see {@link #isPackageHelpUnchanged(String)},
+	 * and the package is written again (with the hash).
 	 * 
 	 * @param name package name
 	 * @param version
+	 * @param built
+	 * @param rdHash the content hash of the Rd database of the package or <code>null</code>
 	 * @return <code>true</code> if seems OK, otherwise false
 	 */
-	public boolean checkPackage(final String name, final String version, final String built) {
+	public boolean checkPackage(final String name, final String version, final String built,
+			final String rdHash) {
 		if (IGNORE_PKG_NAMES.contains(name)) {
 			return true;
 		}
@@ -586,81 +753,35 @@ public class REnvIndexWriter implements IREnvIndex {
 				return true;
 			}
 			final IRPkgHelp pkgHelp= this.existingPackages.remove(name);
-			if (!this.reset && pkgHelp != null && version.equals(pkgHelp.getVersion())
-					&& ((built != null) ? built.equals(pkgHelp.getBuilt()) : null == pkgHelp.getBuilt()) ) {
+			final String existingRdHash= this.existingRdHashes.get(name);
+			final boolean rdUnchanged= (rdHash != null && rdHash.equals(existingRdHash));
+			final boolean buildUnchanged= (pkgHelp != null && version.equals(pkgHelp.getVersion())
+					&& ((built != null) ? built.equals(pkgHelp.getBuilt()) : null == pkgHelp.getBuilt()) );
+			if (!this.reset && buildUnchanged
+					&& (rdUnchanged || rdHash == null) ) {
 				this.packages.put(name, pkgHelp); // reuse
 				return true;
 			}
+			if (!this.reset && pkgHelp != null
+					&& (rdUnchanged || (buildUnchanged && existingRdHash == null)) ) {
+				this.unchangedPackages.put(name, pkgHelp);
+			}
 			this.packages.put(name, null); // placeholder
 			return false;
 		}
 	}
 	
-	public void beginPackage(final IRPkgDescription packageDesription) throws AbortIndexException {
-		final String name= packageDesription.getName();
-		if (this.currentPackage != null) {
-			throw new IllegalArgumentException();
-		}
-		try {
-			this.status.add(new Status(IStatus.INFO, RCore.PLUGIN_ID, "Beginning package: '" + name + "'.")); //$NON-NLS-1$ //$NON-NLS-2$
-			
-			this.currentPackage= new RPkgHelp(name, packageDesription.getTitle(),
-					packageDesription.getVersion().toString(),
-					this.rEnvConfig.getReference(), packageDesription.getBuilt() );
-			synchronized (this.packages) {
-				this.existingPackages.remove(name);
-				this.packages.put(name, this.currentPackage);
-			}
-			this.luceneWriter.deleteDocuments(new Term(PACKAGE_FIELD_NAME, name));
-			this.worker.addToLucene(packageDesription);
-		}
-		catch (final IOException e) {
-			throw new AbortIndexException(e);
-		}
-		catch (final OutOfMemoryError e) {
-			throw new AbortIndexException(e);
-		}
-	}
-	
-	public void add(final RdItem item) throws AbortIndexException {
-		if (this.currentPackage == null || !this.currentPackage.getName().equals(item.getPkg())) {
-			throw new IllegalArgumentException();
-		}
-		try {
-			this.currentPackage.addPage(new RHelpPage(this.currentPackage, item.getName(), item.getTitle()));
-			this.worker.addToLucene(item);
-		}
-		catch (final IOException e) {
-			throw new AbortIndexException(e);
-		}
-		catch (final OutOfMemoryError e) {
-			throw new AbortIndexException(e);
-		}
-	}
-	
-	public void endPackage() throws AbortIndexException {
-		if (DEBUG) {
-			this.status.add(new Status(IStatus.INFO, RCore.PLUGIN_ID, "Finishing package.")); //$NON-NLS-1$
-			
-			final Runtime runtime= Runtime.getRuntime();
-			final long maxMemory= runtime.maxMemory();
-			final long allocatedMemory= runtime.totalMemory();
-			final long freeMemory= runtime.freeMemory();
-			final LiveIndexWriterConfig config= this.luceneWriter.getConfig();
-			final StringBuilder sb= new StringBuilder("Memory status:\n"); //$NON-NLS-1$
-			sb.append("TempBuilder-capycity: ").append(this.worker.tempBuilder.capacity()).append('\n'); //$NON-NLS-1$
-			sb.append("Lucene-buffersize: ").append((long) (config.getRAMBufferSizeMB() * 1024.0)).append('\n'); //$NON-NLS-1$
-			sb.append("Memory-free: ").append(freeMemory / 1024L).append('\n'); //$NON-NLS-1$
-			sb.append("Memory-total: ").append(allocatedMemory / 1024L).append('\n'); //$NON-NLS-1$
-			sb.append("Memory-max: ").append(maxMemory / 1024L).append('\n'); //$NON-NLS-1$
-			this.status.add(new Status(IStatus.INFO, RCore.PLUGIN_ID, sb.toString()));
-		}
-		
-		if (this.currentPackage == null) {
-			return;
+	/**
+	 * Returns if the help pages of the package (checked by {@link #checkPackage}) are unchanged
+	 * and can be reused. In this case it is not necessary to add the pages again.
+	 * 
+	 * @param name package name
+	 * @return <code>true</code> if the help pages are reused, otherwise <code>false</code>
+	 */
+	public boolean isPackageHelpUnchanged(final String name) {
+		synchronized (this.packages) {
+			return this.unchangedPackages.containsKey(name);
 		}
-		this.currentPackage.freeze();
-		this.currentPackage= null;
 	}
 	
 	public IStatus endBatch() throws AbortIndexException {
@@ -681,6 +802,7 @@ public class REnvIndexWriter implements IREnvIndex {
 				this.luceneWriter.deleteDocuments(new Term(PACKAGE_FIELD_NAME, packageName));
 			}
 			this.existingPackages.clear();
+			this.unchangedPackages.clear();
 			
 			final Collection<RHelpKeywordGroup> values= this.keywordGroups.values();
 			for (final RHelpKeywordGroup group : values) {
@@ -768,7 +890,8 @@ public class REnvIndexWriter implements IREnvIndex {
 		}
 		this.luceneWriter= null;
 		this.luceneDirectory= null;
-		this.currentPackage= null;
+		this.existingRdHashes= null;
+		this.unchangedPackages= null;
 		this.indexLock= null;
 	}
 	
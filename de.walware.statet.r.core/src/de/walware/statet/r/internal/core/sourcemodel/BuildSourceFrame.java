@@ -29,13 +29,13 @@ import de.walware.ecommons.ltk.core.model.IModelElement;
 
 import de.walware.statet.r.core.model.IRElement;
 import de.walware.statet.r.core.model.IRFrame;
-import de.walware.statet.r.core.model.IRFrameInSource;
 import de.walware.statet.r.core.model.IRLangSourceElement;
 import de.walware.statet.r.core.model.RElementAccess;
 import de.walware.statet.r.core.model.RElementName;
+import de.walware.statet.r.core.model.RNamePrefixIndex;
 
 
-abstract class BuildSourceFrame implements IRFrameInSource {
+abstract class BuildSourceFrame implements IRAccessNamesIndexedFrame {
 	
 	
 	static final int CREATED_NO = 0;
@@ -349,6 +349,8 @@ abstract class BuildSourceFrame implements IRFrameInSource {
 	ConstList<BuildSourceFrame> fParents;
 	private List<IBuildSourceFrameElement> fElements = Collections.emptyList();
 	private WeakReference<List<IRLangSourceElement>> fModelChildren;
+	private volatile RNamePrefixIndex<IRLangSourceElement> fModelChildrenIndex;
+	private volatile RNamePrefixIndex<String> fAccessNamesIndex;
 	
 	
 	BuildSourceFrame(final int type, final String id, final BuildSourceFrame[] parents) {
@@ -415,6 +417,16 @@ abstract class BuildSourceFrame implements IRFrameInSource {
 		return Collections.unmodifiableSet(fData.keySet());
 	}
 	
+	@Override
+	public List<String> getAllAccessNamesByPrefix(final String namePrefix) {
+		RNamePrefixIndex<String> index = fAccessNamesIndex;
+		if (index == null) {
+			index = RNamePrefixIndex.forNames(fData.keySet());
+			fAccessNamesIndex = index;
+		}
+		return index.getCandidates(namePrefix);
+	}
+	
 	@Override
 	public ImList<? extends RElementAccess> getAllAccessOf(final String name, final boolean includeSlaves) {
 		final ElementAccessList list = fData.get(name);
@@ -481,6 +493,17 @@ abstract class BuildSourceFrame implements IRFrameInSource {
 		}
 	}
 	
+	@Override
+	public List<? extends IRLangSourceElement> getModelChildrenByPrefix(final String namePrefix,
+			final IModelElement.Filter filter) {
+		RNamePrefixIndex<IRLangSourceElement> index = fModelChildrenIndex;
+		if (index == null) {
+			index = RNamePrefixIndex.<IRLangSourceElement>forElements(getModelChildren(null));
+			fModelChildrenIndex = index;
+		}
+		return RSourceElements.getChildren(index.getCandidates(namePrefix), filter);
+	}
+	
 	
 	@Override
 	public String toString() {
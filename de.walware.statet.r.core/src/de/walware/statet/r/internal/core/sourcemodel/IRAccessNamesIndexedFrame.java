@@ -0,0 +1,39 @@
+/*=============================================================================#
+ # Copyright (c) 2015 Stephan Wahlbrink (WalWare.de) and others.
+ # All rights reserved. This program and the accompanying materials
+ # are made available under the terms of the Eclipse Public License v1.0
+ # which accompanies this distribution, and is available at
+ # http://www.eclipse.org/legal/epl-v10.html
+ # 
+ # Contributors:
+ #     Stephan Wahlbrink - initial API and implementation
+ #=============================================================================*/
+
+package de.walware.statet.r.internal.core.sourcemodel;
+
+import java.util.List;
+
+import de.walware.statet.r.core.model.IRFrameInSource;
+import de.walware.statet.r.core.model.IRIndexedFrame;
+import de.walware.statet.r.core.model.RNamePrefixIndex;
+
+
+/**
+ * Source frame with an index of its access names by name.
+ * 
+ * @see RNamePrefixIndex
+ */
+public interface IRAccessNamesIndexedFrame extends IRFrameInSource, IRIndexedFrame {
+	
+	/**
+	 * Returns the names of {@link #getAllAccessNames()} which are candidates for the specified
+	 * name prefix.
+	 * 
+	 * The candidates must be checked by {@link de.walware.statet.r.core.RSymbolComparator.PrefixPattern}.
+	 * 
+	 * @param namePrefix the name prefix
+	 * @return the candidates
+	 */
+	List<String> getAllAccessNamesByPrefix(String namePrefix);
+	
+}
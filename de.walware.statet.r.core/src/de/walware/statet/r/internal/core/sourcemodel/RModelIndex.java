@@ -11,7 +11,6 @@
 
 package de.walware.statet.r.internal.core.sourcemodel;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
@@ -21,11 +20,21 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -33,12 +42,16 @@ import javax.sql.DataSource;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.IncrementalProjectBuilder;
 import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.resources.WorkspaceJob;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.osgi.util.NLS;
@@ -65,6 +78,7 @@ import de.walware.statet.r.core.model.RModelIndexUpdate;
 import de.walware.statet.r.core.model.RSuModelContainer;
 import de.walware.statet.r.internal.core.RCorePlugin;
 import de.walware.statet.r.internal.core.RProject;
+import de.walware.statet.r.internal.core.RSupportBuilder;
 import de.walware.statet.r.internal.core.builder.CompositeFrame;
 import de.walware.statet.r.internal.core.builder.RBuildReconciler;
 import de.walware.statet.r.internal.core.builder.RUnitElement;
@@ -78,7 +92,7 @@ public class RModelIndex {
 		
 		static final String NAME= "RINDEX";
 		
-		static final String VERSION= "17";
+		static final String VERSION= "19";
 		
 		static final class Properties {
 			
@@ -94,6 +108,22 @@ public class RModelIndex {
 						+ COL_VALUE         + " varchar(4096)"
 					+ ")";
 			
+			/** prefix of the names marking a project to rebuild (+ db-id of project) */
+			static final String NAME_REBUILD_PREFIX= "rebuild.";
+			
+			static final String OP_insert= "insert into " + QNAME + " ("
+						+ COL_NAME + ", "
+						+ COL_VALUE + ") "
+					+ "values (?, ?)";
+			
+			static final String OP_delete= "delete from " + QNAME + " "
+					+ "where (" + COL_NAME + " = ?)";
+			
+			static final String OP_getAllNames_byPrefix= "select "
+						+ COL_NAME + " "
+					+ "from " + QNAME + " "
+					+ "where (" + COL_NAME + " like ?)";
+			
 		}
 		
 		static final class Models {
@@ -277,6 +307,25 @@ public class RModelIndex {
 					+ "inner join " + QNAME + " as E on (E."+COL_SU_ID + " = S."+SourceUnits.COL_ID + ") "
 					+ "where (S."+SourceUnits.COL_PROJECT_ID + " = ?)";
 			
+			static final String OP_getAll= "select "
+						+ COL_SU_ID + ", "
+						+ COL_OBJECTDATA + " "
+					+ "from " + QNAME;
+			
+			static final String OP_getAllNames_ofProject= "select "
+						+ "S."+SourceUnits.COL_NAME + " "
+					+ "from " + SourceUnits.QNAME + " as S "
+					+ "inner join " + QNAME + " as E on (E."+COL_SU_ID + " = S."+SourceUnits.COL_ID + ") "
+					+ "where (S."+SourceUnits.COL_PROJECT_ID + " = ?)";
+			
+			static final String OP_get_ofProjectAndName= "select "
+						+ "S."+SourceUnits.COL_NAME + ", "
+						+ "S."+SourceUnits.COL_MODEL_TYPE_ID + ", "
+						+ "E." + COL_OBJECTDATA + " "
+					+ "from " + SourceUnits.QNAME + " as S "
+					+ "inner join " + QNAME + " as E on (E."+COL_SU_ID + " = S."+SourceUnits.COL_ID + ") "
+					+ "where (S."+SourceUnits.COL_PROJECT_ID + " = ? and S."+SourceUnits.COL_NAME + " = ?)";
+			
 		}
 		
 		static final class MainNames {
@@ -298,6 +347,9 @@ public class RModelIndex {
 							+ COL_SU_ID + ", "
 							+ COL_NAME_ID + ")"
 					+ ")";
+			/** index to find source units by name */
+			static final String DEFINE_2= "create index " + QNAME + "_" + COL_NAME_ID + " on " + QNAME + " ("
+						+ COL_NAME_ID + ")";
 			
 			static final String OP_insert= "insert into " + QNAME + " ("
 						+ COL_SU_ID + ", "
@@ -324,6 +376,8 @@ public class RModelIndex {
 		
 		public final int id;
 		public boolean removed;
+		/** if the project must be rebuilt (index migrated from older version) */
+		public boolean rebuild;
 		
 		
 		public Proj(final int id) {
@@ -498,7 +552,21 @@ public class RModelIndex {
 		
 		private PreparedStatement getNameStatement;
 		private PreparedStatement addNameStatement;
+		/** cache of name db-ids during an update (names are never removed from the table) */
+		private final Map<String, Long> nameIds= new HashMap<>();
+		public void clearNameIds() {
+			this.nameIds.clear();
+		}
 		public long getOrAddName(final String name) throws SQLException {
+			final Long cachedId= this.nameIds.get(name);
+			if (cachedId != null) {
+				return cachedId.longValue();
+			}
+			final long id= executeGetOrAddName(name);
+			this.nameIds.put(name, Long.valueOf(id));
+			return id;
+		}
+		private long executeGetOrAddName(final String name) throws SQLException {
 			if (this.getNameStatement == null) {
 				this.getNameStatement= this.connection.prepareStatement(RIndex.NamesIdx.OP_getID);
 				this.addNameStatement= this.connection.prepareStatement(RIndex.NamesIdx.OP_insert,
@@ -541,6 +609,8 @@ public class RModelIndex {
 	
 	private final Map<Proj, CompositeFrame> elementsList= new HashMap<>();
 	
+	private ForkJoinPool buildPool;
+	
 	
 	public RModelIndex(final RModelManager manager) {
 		this.sourceUnitManager= LTK.getSourceUnitManager();
@@ -551,6 +621,13 @@ public class RModelIndex {
 	
 	
 	public void dispose() {
+		synchronized (this) {
+			if (this.buildPool != null) {
+				this.buildPool.shutdownNow();
+				this.buildPool= null;
+			}
+		}
+		
 		this.lock.writeLock().lock();
 		try {
 			this.dbInitialized= 1000;
@@ -584,27 +661,161 @@ public class RModelIndex {
 		}
 	}
 	
+	/**
+	 * Count of updated source units written to the DB in one transaction (JDBC batch);
+	 * {@code 0} to commit all units of an index order at once.
+	 */
+	private static final int UPDATE_COMMIT_CHUNK_SIZE= Integer.getInteger(
+			"de.walware.statet.r.core.index.commitChunkSize", 500 ); //$NON-NLS-1$
+	
 	private static final ConstList<String> R_MODEL_TYPES= new ConstArrayList<>(RModel.TYPE_ID);
+	
+	/** Min count of source units to build them in parallel */
+	private static final int PARALLEL_BUILD_MIN= 8;
+	
+	private static final class BuildTask implements Callable<IRModelInfo> {
+		
+		
+		private final IRWorkspaceSourceUnit sourceUnit;
+		private final RSuModelContainer adapter;
+		
+		private final RBuildReconciler reconciler;
+		private final IProgressMonitor monitor;
+		
+		private Future<IRModelInfo> future;
+		
+		
+		public BuildTask(final IRWorkspaceSourceUnit sourceUnit, final RSuModelContainer adapter,
+				final RBuildReconciler reconciler, final IProgressMonitor monitor) {
+			this.sourceUnit= sourceUnit;
+			this.adapter= adapter;
+			this.reconciler= reconciler;
+			this.monitor= monitor;
+		}
+		
+		
+		@Override
+		public IRModelInfo call() throws Exception {
+			return this.reconciler.build(this.adapter, this.monitor);
+		}
+		
+	}
+	
+	/**
+	 * Progress monitor for parallel build tasks, forwarding only the cancel state.
+	 */
+	private static final class BuildTaskMonitor extends NullProgressMonitor {
+		
+		
+		private final IProgressMonitor parent;
+		
+		
+		public BuildTaskMonitor(final IProgressMonitor parent) {
+			this.parent= parent;
+		}
+		
+		
+		@Override
+		public boolean isCanceled() {
+			return (super.isCanceled() || this.parent.isCanceled());
+		}
+		
+	}
+	
+	
 	public void update(final IRProject rProject, final List<String> remove,
 			final List<IRWorkspaceSourceUnit> update, final MultiStatus status, final IProgressMonitor progress) throws CoreException {
 		this.reconciler.init(rProject, status);
 		final RModelIndexUpdate indexUpdate= new RModelIndexUpdate(rProject, R_MODEL_TYPES,
 				(remove == null) );
-		for (final IRWorkspaceSourceUnit sourceUnit : update) {
-			final RSuModelContainer adapter= (RSuModelContainer) sourceUnit.getAdapter(RSuModelContainer.class);
-			if (adapter != null) {
+		if (update.size() >= PARALLEL_BUILD_MIN) {
+			buildParallel(update, indexUpdate, status, progress);
+		}
+		else {
+			for (final IRWorkspaceSourceUnit sourceUnit : update) {
+				final RSuModelContainer adapter= (RSuModelContainer) sourceUnit.getAdapter(RSuModelContainer.class);
+				if (adapter != null) {
+					try {
+						final IRModelInfo model= this.reconciler.build(adapter, progress);
+						indexUpdate.update(sourceUnit, model);
+					}
+					catch (final Exception e) {
+						addBuildError(status, sourceUnit, e);
+					}
+				}
+			}
+		}
+		
+		update(indexUpdate, progress);
+	}
+	
+	/**
+	 * Builds the models of the source units in parallel.
+	 * 
+	 * The number of pending tasks is bounded so that only few models (incl. AST) are in memory
+	 * at the same time. The results are collected in the original order by the calling thread.
+	 */
+	private void buildParallel(final List<IRWorkspaceSourceUnit> update,
+			final RModelIndexUpdate indexUpdate, final MultiStatus status,
+			final IProgressMonitor progress) {
+		final ForkJoinPool pool= getBuildPool();
+		final int maxPending= 2 * pool.getParallelism();
+		final IProgressMonitor taskMonitor= new BuildTaskMonitor(progress);
+		final Deque<BuildTask> pending= new ArrayDeque<>(maxPending);
+		final Iterator<IRWorkspaceSourceUnit> iter= update.iterator();
+		try {
+			while (true) {
+				while (pending.size() < maxPending && iter.hasNext()) {
+					final IRWorkspaceSourceUnit sourceUnit= iter.next();
+					final RSuModelContainer adapter= (RSuModelContainer) sourceUnit.getAdapter(RSuModelContainer.class);
+					if (adapter != null) {
+						final BuildTask task= new BuildTask(sourceUnit, adapter, this.reconciler, taskMonitor);
+						task.future= pool.submit(task);
+						pending.add(task);
+					}
+				}
+				
+				final BuildTask task= pending.poll();
+				if (task == null) {
+					return;
+				}
 				try {
-					final IRModelInfo model= this.reconciler.build(adapter, progress);
-					indexUpdate.update(sourceUnit, model);
+					final IRModelInfo model= task.future.get();
+					indexUpdate.update(task.sourceUnit, model);
+				}
+				catch (final ExecutionException e) {
+					addBuildError(status, task.sourceUnit, e.getCause());
+				}
+				catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+					task.future.cancel(false);
+					throw new OperationCanceledException();
 				}
 				catch (final Exception e) {
-					status.add(new Status(IStatus.ERROR, RCore.PLUGIN_ID, ICommonStatusConstants.BUILD_ERROR, 
-							NLS.bind("An error occurred when indexing ''{0}''", sourceUnit.getResource().getFullPath().toString()), e));
+					addBuildError(status, task.sourceUnit, e);
 				}
 			}
 		}
-		
-		update(indexUpdate, progress);
+		finally {
+			for (final BuildTask task : pending) {
+				task.future.cancel(false);
+			}
+		}
+	}
+	
+	private void addBuildError(final MultiStatus status, final IRWorkspaceSourceUnit sourceUnit,
+			final Throwable e) {
+		synchronized (status) {
+			status.add(new Status(IStatus.ERROR, RCore.PLUGIN_ID, ICommonStatusConstants.BUILD_ERROR, 
+					NLS.bind("An error occurred when indexing ''{0}''", sourceUnit.getResource().getFullPath().toString()), e));
+		}
+	}
+	
+	private synchronized ForkJoinPool getBuildPool() {
+		if (this.buildPool == null) {
+			this.buildPool= new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+		}
+		return this.buildPool;
 	}
 	
 	public void update(final RModelIndexUpdate order, final IProgressMonitor progress)
@@ -629,6 +840,13 @@ public class RModelIndex {
 					final int modelId= getOrCreateModelId(modelTypeId);
 					tools.clearProj(proj.id, modelId);
 				}
+				if (proj.rebuild) {
+					try (final PreparedStatement statement= tools.connection.prepareStatement(RIndex.Properties.OP_delete)) {
+						statement.setString(1, RIndex.Properties.NAME_REBUILD_PREFIX + proj.id);
+						statement.execute();
+					}
+					proj.rebuild= false;
+				}
 				tools.connection.commit();
 				
 				if (order.updated.isEmpty()) {
@@ -643,7 +861,7 @@ public class RModelIndex {
 				if (frame == null) {
 					if (order.isFullBuild) {
 						frame= new CompositeFrame(this.lock, order.rProject.getPackageName(),
-								order.projectName, null );
+								order.projectName, null, new FrameLoader(proj) );
 						this.elementsList.put(proj, frame);
 					}
 					else {
@@ -656,6 +874,9 @@ public class RModelIndex {
 				PreparedStatement updateExportsStatement= null;
 				PreparedStatement insertExportsStatement= null;
 				PreparedStatement insertMainNameStatement= null;
+				int chunkCount= 0;
+				// updated units of the current chunk, applied to the frame after commit
+				final List<RModelIndexOrder.Result> chunkUpdated= new ArrayList<>();
 				final ByteArrayOutputStream byteOutput= new ByteArrayOutputStream();
 				for (final RModelIndexOrder.Result updated : order.updated) {
 					if (tools == null) {
@@ -664,13 +885,12 @@ public class RModelIndex {
 						insertExportsStatement= tools.connection.prepareStatement(RIndex.Exports.OP_insert);
 						updateExportsStatement= tools.connection.prepareStatement(RIndex.Exports.OP_update);
 						insertMainNameStatement= tools.connection.prepareStatement(RIndex.MainNames.OP_insert);
+						chunkCount= 0;
 					}
 					
 					final ISourceUnit sourceUnit= updated.exportedElement.getSourceUnit();
 					final int modelId= getOrCreateModelId(sourceUnit.getModelTypeId());
 					
-					final RUnitElement previous= frame.setModelElement(updated.unitId, updated.exportedElement);
-					
 					order.removed.remove(updated.unitId);
 					
 					tools.executeGetOrAddUnit(updated.unitId, modelId);
@@ -678,42 +898,56 @@ public class RModelIndex {
 					byteOutput.reset();
 					updated.exportedElement.save(byteOutput);
 					final byte[] objectBytes= byteOutput.toByteArray();
-					final ByteArrayInputStream objectStream= new ByteArrayInputStream(objectBytes);
 					try {
 						if (tools.currentUnitNew) {
 							insertExportsStatement.setLong(1, tools.currentUnitId);
-							insertExportsStatement.setBinaryStream(2, objectStream, objectBytes.length);
-							insertExportsStatement.execute();
+							insertExportsStatement.setBytes(2, objectBytes);
+							insertExportsStatement.addBatch();
 						}
 						else {
 							updateExportsStatement.setLong(2, tools.currentUnitId);
-							updateExportsStatement.setBinaryStream(1, objectStream, objectBytes.length);
-							updateExportsStatement.execute();
+							updateExportsStatement.setBytes(1, objectBytes);
+							updateExportsStatement.addBatch();
 							tools.clearUnitNames();
 						}
 						insertMainNameStatement.setLong(1, tools.currentUnitId);
 						for (final String name : updated.defaultNames) {
 							if (name != null) {
 								insertMainNameStatement.setLong(2, tools.getOrAddName(name));
-								insertMainNameStatement.executeUpdate();
+								insertMainNameStatement.addBatch();
 							}
 						}
+						chunkUpdated.add(updated);
+						if (++chunkCount == UPDATE_COMMIT_CHUNK_SIZE) {
+							executeBatches(insertExportsStatement, updateExportsStatement,
+									insertMainNameStatement );
+							tools.connection.commit();
+							setModelElements(frame, chunkUpdated);
+							chunkCount= 0;
+						}
+					}
+					catch (final SQLException e) {
+						closeStatements(insertExportsStatement, updateExportsStatement,
+								insertMainNameStatement );
+						
+						// the chunk is rolled back, the frame keeps the previous elements
+						chunkUpdated.clear();
+						onDbToolsError(e);
+						tools= null;
+					}
+				}
+				if (tools != null && chunkCount > 0) {
+					try {
+						executeBatches(insertExportsStatement, updateExportsStatement,
+								insertMainNameStatement );
 						tools.connection.commit();
+						setModelElements(frame, chunkUpdated);
 					}
 					catch (final SQLException e) {
-						try {
-							if (insertExportsStatement != null) {
-								insertExportsStatement.close();
-							}
-							if (updateExportsStatement != null) {
-								updateExportsStatement.close();
-							}
-							if (insertMainNameStatement != null) {
-								insertMainNameStatement.close();
-							}
-						}
-						catch (final SQLException ignore) {}
+						closeStatements(insertExportsStatement, updateExportsStatement,
+								insertMainNameStatement );
 						
+						chunkUpdated.clear();
 						onDbToolsError(e);
 						tools= null;
 					}
@@ -745,16 +979,69 @@ public class RModelIndex {
 			onDbToolsError(e);
 		}
 		finally {
+			if (this.dbTools != null) {
+				this.dbTools.clearNameIds();
+			}
 			this.lock.writeLock().unlock();
 		}
 	}
 	
+	private static void setModelElements(final CompositeFrame frame,
+			final List<RModelIndexOrder.Result> updated) {
+		for (final RModelIndexOrder.Result result : updated) {
+			frame.setModelElement(result.unitId, result.exportedElement);
+		}
+		updated.clear();
+	}
+	
+	private static void executeBatches(final PreparedStatement... statements) throws SQLException {
+		for (final PreparedStatement statement : statements) {
+			statement.executeBatch();
+		}
+	}
+	
+	private static void closeStatements(final PreparedStatement... statements) {
+		for (final PreparedStatement statement : statements) {
+			try {
+				if (statement != null) {
+					statement.close();
+				}
+			}
+			catch (final SQLException ignore) {}
+		}
+	}
+	
+	private final class FrameLoader implements CompositeFrame.ElementLoader {
+		
+		
+		private final Proj proj;
+		
+		
+		public FrameLoader(final Proj proj) {
+			this.proj= proj;
+		}
+		
+		
+		@Override
+		public Map<String, RUnitElement> load(final CompositeFrame frame, final Collection<String> suIds) {
+			return loadElements(this.proj, frame, suIds);
+		}
+		
+	}
+	
+	/**
+	 * Creates the frame of the project if not yet available.
+	 * 
+	 * Only the ids of the source units are loaded, the unit elements are loaded on demand by
+	 * {@link #loadElements(Proj, CompositeFrame, Collection)}.
+	 */
 	private CompositeFrame getFrame(final Proj proj, final IRProject rProject,
 			Connection connection, final IProgressMonitor monitor) throws SQLException, CoreException {
 		CompositeFrame frame= this.elementsList.get(proj);
 		if (frame == null && rProject.getProject().isOpen()) {
 			final HashMap<String, RUnitElement> elements= new HashMap<>();
-			frame= new CompositeFrame(this.lock, rProject.getPackageName(), rProject.getProject().getName(), elements);
+			frame= new CompositeFrame(this.lock, rProject.getPackageName(), rProject.getProject().getName(), elements,
+					new FrameLoader(proj) );
 			this.elementsList.put(proj, frame);
 			
 			if (this.dbInitialized == 1) {
@@ -764,35 +1051,12 @@ public class RModelIndex {
 					if (connection == null) {
 						connection= newConnection= this.dbConnectionPool.getConnection();
 					}
-					statement= connection.prepareStatement(RIndex.Exports.OP_getAll_ofProject);
+					statement= connection.prepareStatement(RIndex.Exports.OP_getAllNames_ofProject);
 					statement.setInt(1, proj.id);
 					final ResultSet result= statement.executeQuery();
 					
 					while (result.next()) {
-						ISourceUnit su= null;
-						try {
-							final String unitId= result.getString(1);
-							final String modelTypeId= this.modelId2Type.get(result.getInt(2));
-							assert (unitId != null && modelTypeId != null);
-							su= this.sourceUnitManager.getSourceUnit(modelTypeId,
-									LTK.PERSISTENCE_CONTEXT, unitId, true, monitor );
-							if (su instanceof IRSourceUnit) {
-								final InputStream inputStream= result.getBlob(3).getBinaryStream();
-								final RUnitElement unitElement= RUnitElement.read((IRSourceUnit) su, frame, inputStream);
-								elements.put(su.getId(), unitElement);
-							}
-						}
-						catch (final IOException e) {
-							onDbReadError(e);
-						}
-						catch (final ClassNotFoundException e) {
-							onDbReadError(e);
-						}
-						finally {
-							if (su != null) {
-								su.disconnect(monitor);
-							}
-						}
+						elements.put(result.getString(1), null);
 					}
 				}
 				finally {
@@ -813,6 +1077,83 @@ public class RModelIndex {
 		return frame;
 	}
 	
+	/**
+	 * Loads the unit elements of the specified source units from the DB.
+	 * 
+	 * Requires read lock.
+	 */
+	private Map<String, RUnitElement> loadElements(final Proj proj, final CompositeFrame frame,
+			final Collection<String> suIds) {
+		final Map<String, RUnitElement> elements= new HashMap<>();
+		if (this.dbInitialized != 1 || proj.removed) {
+			return elements;
+		}
+		Connection connection= null;
+		try {
+			connection= this.dbConnectionPool.getConnection();
+			if (suIds.size() > 32) {
+				final Set<String> ids= new HashSet<>(suIds);
+				try (final PreparedStatement statement= connection.prepareStatement(RIndex.Exports.OP_getAll_ofProject)) {
+					statement.setInt(1, proj.id);
+					final ResultSet result= statement.executeQuery();
+					while (result.next()) {
+						if (ids.contains(result.getString(1))) {
+							readElement(result, frame, elements);
+						}
+					}
+				}
+			}
+			else {
+				try (final PreparedStatement statement= connection.prepareStatement(RIndex.Exports.OP_get_ofProjectAndName)) {
+					statement.setInt(1, proj.id);
+					for (final String suId : suIds) {
+						statement.setString(2, suId);
+						final ResultSet result= statement.executeQuery();
+						if (result.next()) {
+							readElement(result, frame, elements);
+						}
+					}
+				}
+			}
+		}
+		catch (final SQLException | CoreException e) {
+			RCorePlugin.log(new Status(IStatus.ERROR, RCore.PLUGIN_ID, -1, "An error occurred when loading elements from the index in DB.", e));
+		}
+		finally {
+			if (connection != null) {
+				try {
+					connection.close();
+				} catch (final SQLException ignore) {}
+			}
+		}
+		return elements;
+	}
+	
+	private void readElement(final ResultSet result, final CompositeFrame frame,
+			final Map<String, RUnitElement> elements) throws SQLException, CoreException {
+		ISourceUnit su= null;
+		try {
+			final String unitId= result.getString(1);
+			final String modelTypeId= this.modelId2Type.get(result.getInt(2));
+			assert (unitId != null && modelTypeId != null);
+			su= this.sourceUnitManager.getSourceUnit(modelTypeId,
+					LTK.PERSISTENCE_CONTEXT, unitId, true, null );
+			if (su instanceof IRSourceUnit) {
+				final InputStream inputStream= result.getBlob(3).getBinaryStream();
+				final RUnitElement unitElement= RUnitElement.read((IRSourceUnit) su, frame, inputStream);
+				elements.put(su.getId(), unitElement);
+			}
+		}
+		catch (final IOException e) {
+			onDbReadError(e);
+		}
+		finally {
+			if (su != null) {
+				su.disconnect(null);
+			}
+		}
+	}
+	
 	/**
 	 * Required write lock
 	 * @param projectName
@@ -870,6 +1211,7 @@ public class RModelIndex {
 				if (checkVersion()) {
 					if (loadModelTypes() && checkProjects()) {
 						this.dbInitialized= 1;
+						scheduleRebuild();
 					}
 				}
 			}
@@ -898,8 +1240,15 @@ public class RModelIndex {
 			if (schemaExists) {
 				try (final Statement statement= connection.createStatement()) {
 					final ResultSet result= statement.executeQuery("select VALUE from RINDEX.PROPERTIES where (NAME = 'version')");
-					if (result.next() && RIndex.VERSION.equals(result.getString(1))) {
-						return true;
+					if (result.next()) {
+						final String version= result.getString(1);
+						if (RIndex.VERSION.equals(version)) {
+							return true;
+						}
+						if (("17".equals(version) || "18".equals(version)) //$NON-NLS-1$ //$NON-NLS-2$
+								&& migrate(connection, Integer.parseInt(version)) ) {
+							return true;
+						}
 					}
 				}
 				catch (final SQLException ignore) {}
@@ -943,6 +1292,7 @@ public class RModelIndex {
 				statement.execute(RIndex.NamesIdx.DEFINE_1);
 				
 				statement.execute(RIndex.MainNames.DEFINE_1);
+				statement.execute(RIndex.MainNames.DEFINE_2);
 				statement.execute(RIndex.Exports.DEFINE_1);
 				
 				statement.execute("insert into " + RIndex.Properties.QNAME + " (NAME, VALUE) values ('version', '" + RIndex.VERSION + "')");
@@ -964,6 +1314,70 @@ public class RModelIndex {
 		}
 	}
 	
+	/**
+	 * Migrates the index from an older version to the current version.
+	 * 
+	 * Version 17: the exported elements are converted from Java serialization to the current
+	 * format.
+	 * Version 17 and 18: the name index is added. The names of the nested frames of the source
+	 * units are missing, therefore all projects are marked to be rebuilt, see
+	 * {@link #scheduleRebuild()}.
+	 * 
+	 * @return <code>true</code> if successful, otherwise <code>false</code> (index must be
+	 *     recreated)
+	 */
+	private boolean migrate(final Connection connection, final int version) throws SQLException {
+		try {
+			if (version <= 17) {
+				final List<Long> unitIds= new ArrayList<>();
+				final List<byte[]> objectData= new ArrayList<>();
+				try (final Statement statement= connection.createStatement()) {
+					final ByteArrayOutputStream byteOutput= new ByteArrayOutputStream();
+					final ResultSet result= statement.executeQuery(RIndex.Exports.OP_getAll);
+					while (result.next()) {
+						final RUnitElement unitElement= RUnitElement.readSerialized(
+								result.getBlob(2).getBinaryStream() );
+						byteOutput.reset();
+						unitElement.save(byteOutput);
+						unitIds.add(result.getLong(1));
+						objectData.add(byteOutput.toByteArray());
+					}
+				}
+				try (final PreparedStatement statement= connection.prepareStatement(RIndex.Exports.OP_update)) {
+					for (int i= 0; i < unitIds.size(); i++) {
+						statement.setBytes(1, objectData.get(i));
+						statement.setLong(2, unitIds.get(i));
+						statement.addBatch();
+					}
+					statement.executeBatch();
+				}
+			}
+			try (final Statement statement= connection.createStatement()) {
+				statement.execute(RIndex.MainNames.DEFINE_2);
+			}
+			try (final Statement statement= connection.createStatement();
+					final PreparedStatement insertStatement= connection.prepareStatement(RIndex.Properties.OP_insert) ) {
+				final ResultSet result= statement.executeQuery(RIndex.Projects.OP_getAll);
+				while (result.next()) {
+					insertStatement.setString(1, RIndex.Properties.NAME_REBUILD_PREFIX + result.getInt(1));
+					insertStatement.setString(2, Integer.toString(version));
+					insertStatement.addBatch();
+				}
+				insertStatement.executeBatch();
+			}
+			try (final Statement statement= connection.createStatement()) {
+				statement.execute("update " + RIndex.Properties.QNAME + " set VALUE = '" + RIndex.VERSION + "' where (NAME = 'version')"); //$NON-NLS-1$
+			}
+			connection.commit();
+			return true;
+		}
+		catch (final IOException | ClassNotFoundException | SQLException e) {
+			connection.rollback();
+			RCorePlugin.log(new Status(IStatus.INFO, RCore.PLUGIN_ID, -1, "Failed to migrate R model index from version " + version + ", the index will be recreated.", e));
+			return false;
+		}
+	}
+	
 	private boolean loadModelTypes() {
 		try {
 			this.modelType2Id.clear();
@@ -1014,6 +1428,19 @@ public class RModelIndex {
 						}
 					}
 				}
+			}
+			try (final PreparedStatement statement= tools.connection.prepareStatement(RIndex.Properties.OP_getAllNames_byPrefix)) {
+				statement.setString(1, RIndex.Properties.NAME_REBUILD_PREFIX + '%');
+				final ResultSet result= statement.executeQuery();
+				while (result.next()) {
+					final int id= Integer.parseInt(result.getString(1).substring(
+							RIndex.Properties.NAME_REBUILD_PREFIX.length() ));
+					for (final Proj proj : this.projects.values()) {
+						if (proj.id == id) {
+							proj.rebuild= true;
+						}
+					}
+				}
 				return true;
 			}
 		}
@@ -1025,6 +1452,39 @@ public class RModelIndex {
 		}
 	}
 	
+	/**
+	 * Schedules a full build of the projects marked to be rebuilt.
+	 * 
+	 * The mark is removed when the full build of the project is written to the index.
+	 */
+	private void scheduleRebuild() {
+		final IWorkspaceRoot root= ResourcesPlugin.getWorkspace().getRoot();
+		final List<IProject> projects= new ArrayList<>();
+		for (final Map.Entry<String, Proj> entry : this.projects.entrySet()) {
+			if (entry.getValue().rebuild) {
+				projects.add(root.getProject(entry.getKey()));
+			}
+		}
+		if (projects.isEmpty()) {
+			return;
+		}
+		final WorkspaceJob job= new WorkspaceJob("Rebuild R Model Index") {
+			@Override
+			public IStatus runInWorkspace(final IProgressMonitor monitor) throws CoreException {
+				final SubMonitor progress= SubMonitor.convert(monitor, projects.size());
+				for (final IProject project : projects) {
+					if (project.isOpen()) {
+						project.build(IncrementalProjectBuilder.FULL_BUILD, RSupportBuilder.ID, null,
+								progress.newChild(1) );
+					}
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		job.setRule(ResourcesPlugin.getWorkspace().getRuleFactory().buildRule());
+		job.schedule();
+	}
+	
 	private void removeProject(final String projectName) {
 		final Proj proj= this.projects.remove(projectName);
 		if (proj != null) {
@@ -1050,7 +1510,7 @@ public class RModelIndex {
 			try {
 				final CompositeFrame frame= this.elementsList.get(projectId);
 				if (frame != null) {
-					this.elementsList.put(projectId, new CompositeFrame(this.lock, packageName, project.getName(), frame.fModelElements));
+					this.elementsList.put(projectId, new CompositeFrame(this.lock, packageName, project.getName(), frame));
 				}
 			}
 			finally {
@@ -97,6 +97,9 @@ public class RModelIndexOrder {
 		}
 		final Set<String> names= new HashSet<>();
 		names.addAll(model.getTopFrame().getAllAccessNames());
+		for (final IRFrameInSource frame : model.getSourceFrames().values()) {
+			names.addAll(frame.getAllAccessNames());
+		}
 		final Map<String, ? extends IRFrame> frames= model.getReferencedFrames();
 		for (final IRFrame frame : frames.values()) {
 			names.addAll(((IRFrameInSource) frame).getAllAccessNames());
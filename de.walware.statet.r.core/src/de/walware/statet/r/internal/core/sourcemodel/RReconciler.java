@@ -11,7 +11,10 @@
 
 package de.walware.statet.r.internal.core.sourcemodel;
 
+import java.util.ArrayDeque;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import com.ibm.icu.text.DecimalFormat;
 
@@ -50,6 +53,9 @@ public class RReconciler {
 	
 	private static final boolean LOG_TIME= false;
 	
+	/** Minimal text length of sources which are updated incrementally */
+	private static final int INCREMENTAL_MIN_LENGTH= 0x4000;
+	
 	protected static class Data {
 		
 		public final RSuModelContainer adapter;
@@ -60,6 +66,8 @@ public class RReconciler {
 		public IRModelInfo oldModel;
 		public IRModelInfo newModel;
 		
+		private UnitState unitState;
+		
 		public Data(final RSuModelContainer adapter, final IProgressMonitor monitor) {
 			this.adapter= adapter;
 			this.content= adapter.getParseContent(monitor);
@@ -67,28 +75,103 @@ public class RReconciler {
 		
 	}
 	
+	/**
+	 * Source of the last AST created for a source unit, required to update the AST incrementally.
+	 */
+	private static final class AstSource {
+		
+		public final SourceComponent root;
+		public final String text;
+		public final int beginOffset;
+		
+		public AstSource(final SourceComponent root, final SourceContent content) {
+			this.root= root;
+			this.text= content.getText();
+			this.beginOffset= content.getBeginOffset();
+		}
+		
+	}
+	
+	/**
+	 * Reconciler state of a source unit.
+	 * 
+	 * The requests for a source unit are ordered by synchronizing on its state.
+	 */
+	private static final class UnitState {
+		
+		private AstSource astSource;
+		
+	}
+	
+	/**
+	 * The scanners and analyzers of a reconciler worker.
+	 * 
+	 * A worker is used by only one thread at the same time, so different source units can be
+	 * processed in parallel.
+	 */
+	protected static final class Worker {
+		
+		private final IStringFactory astStringCache;
+		private final StringParserInput input= new StringParserInput(0x1000);
+		private final RoxygenScanner roxygenScanner;
+		
+		private final SourceAnalyzer scopeAnalyzer;
+		
+		private final RProblemReporter problemReporter;
+		
+		
+		public Worker() {
+			this.astStringCache= new InternStringCache(0x20);
+			this.roxygenScanner= new RoxygenScanner(this.astStringCache);
+			this.scopeAnalyzer= new SourceAnalyzer();
+			this.problemReporter= new RProblemReporter();
+		}
+		
+	}
 	
-	private final RModelManager rManager;
-	protected boolean stop= false;
 	
-	private final Object raLock= new Object();
-	private final IStringFactory raAstStringCache;
-	private final StringParserInput raInput= new StringParserInput(0x1000);
-	private final RoxygenScanner raRoxygenScanner;
+	private final RModelManager rManager;
+	protected volatile boolean stop= false;
 	
-	private final Object rmLock= new Object();
-	private final SourceAnalyzer rmScopeAnalyzer;
+	private final ArrayDeque<Worker> idleWorkers= new ArrayDeque<>();
+	private final int maxIdleWorkers;
 	
-	private final Object rpLock= new Object();
-	private final RProblemReporter rpReporter;
+	private final Map<RSuModelContainer, UnitState> unitStates= new WeakHashMap<>();
 	
 	
 	public RReconciler(final RModelManager manager) {
 		this.rManager= manager;
-		this.raAstStringCache= new InternStringCache(0x20);
-		this.raRoxygenScanner= new RoxygenScanner(this.raAstStringCache);
-		this.rmScopeAnalyzer= new SourceAnalyzer();
-		this.rpReporter= new RProblemReporter();
+		this.maxIdleWorkers= Runtime.getRuntime().availableProcessors();
+	}
+	
+	
+	protected final Worker acquireWorker() {
+		synchronized (this.idleWorkers) {
+			final Worker worker= this.idleWorkers.pollFirst();
+			if (worker != null) {
+				return worker;
+			}
+		}
+		return new Worker();
+	}
+	
+	protected final void releaseWorker(final Worker worker) {
+		synchronized (this.idleWorkers) {
+			if (this.idleWorkers.size() < this.maxIdleWorkers) {
+				this.idleWorkers.addFirst(worker);
+			}
+		}
+	}
+	
+	private UnitState getUnitState(final RSuModelContainer adapter) {
+		synchronized (this.unitStates) {
+			UnitState state= this.unitStates.get(adapter);
+			if (state == null) {
+				state= new UnitState();
+				this.unitStates.put(adapter, state);
+			}
+			return state;
+		}
 	}
 	
 	
@@ -105,68 +188,72 @@ public class RReconciler {
 		if (data.content == null) {
 			return;
 		}
+		data.unitState= getUnitState(adapter);
 		
-		synchronized (this.raLock) {
-			if (this.stop || monitor.isCanceled()) {
-				return;
-			}
-			updateAst(data, monitor);
-		}
-		
-		if (this.stop || monitor.isCanceled()
-				|| (flags & 0xf) < IModelManager.MODEL_FILE) {
-			return;
-		}
-		
-		synchronized (this.rmLock) {
+		IProblemRequestor problemRequestor= null;
+		synchronized (data.unitState) {
 			if (this.stop || monitor.isCanceled()) {
 				return;
 			}
-			final boolean updated= updateModel(data);
-			
-			if (this.stop) {
-				return;
-			}
-			
-			if (updated) {
-				this.rManager.getEventJob().addUpdate(su, data.oldModel, data.newModel);
-			}
-		}
-		
-		if ((flags & IModelManager.RECONCILE) != 0 && data.newModel != null) {
-			if (this.stop || monitor.isCanceled()) {
-				return;
-			}
-			
-			IProblemRequestor problemRequestor= null;
-			synchronized (this.rpLock) {
-				if (!this.stop && !monitor.isCanceled()
-						&& data.newModel == adapter.getCurrentModel() ) {
-					problemRequestor= adapter.createProblemRequestor();
-					if (problemRequestor != null) {
-						this.rpReporter.run(su, data.content,
-								(RAstNode) data.ast.root, problemRequestor );
+			final Worker worker= acquireWorker();
+			try {
+				updateAst(worker, data, monitor);
+				
+				if (this.stop || monitor.isCanceled()
+						|| (flags & 0xf) < IModelManager.MODEL_FILE) {
+					return;
+				}
+				
+				final boolean updated= updateModel(worker, data);
+				
+				if (this.stop) {
+					return;
+				}
+				
+				if (updated) {
+					this.rManager.getEventJob().addUpdate(su, data.oldModel, data.newModel);
+				}
+				
+				if ((flags & IModelManager.RECONCILE) != 0 && data.newModel != null) {
+					if (this.stop || monitor.isCanceled()) {
+						return;
+					}
+					
+					if (data.newModel == adapter.getCurrentModel()) {
+						problemRequestor= adapter.createProblemRequestor();
+						if (problemRequestor != null) {
+							worker.problemReporter.run(su, data.content,
+									(RAstNode) data.ast.root, problemRequestor );
+						}
 					}
 				}
 			}
-			if (problemRequestor != null) {
-				problemRequestor.finish();
+			finally {
+				releaseWorker(worker);
 			}
 		}
+		if (problemRequestor != null) {
+			problemRequestor.finish();
+		}
 	}
 	
 	public IRModelInfo reconcile(final IRSourceUnit su, final ISourceUnitModelInfo modelInfo,
 			final List<? extends RChunkElement> chunkElements, final List<? extends SourceComponent> inlineNodes,
 			final int level, final IProgressMonitor monitor) {
-		synchronized (this.rmLock) {
-			return updateModel(su, modelInfo, chunkElements, inlineNodes);
+		final Worker worker= acquireWorker();
+		try {
+			return updateModel(worker, su, modelInfo, chunkElements, inlineNodes);
+		}
+		finally {
+			releaseWorker(worker);
 		}
 	}
 	
-	protected final void updateAst(final Data data, final IProgressMonitor monitor) {
+	protected final void updateAst(final Worker worker, final Data data, final IProgressMonitor monitor) {
 		final SourceModelStamp stamp= new SourceModelStamp(data.content.getStamp());
 		
-		data.ast= data.adapter.getCurrentAst();
+		final AstInfo prevAst= data.adapter.getCurrentAst();
+		data.ast= prevAst;
 		if (data.ast != null && !stamp.equals(data.ast.getStamp())) {
 			data.ast= null;
 		}
@@ -181,26 +268,50 @@ public class RReconciler {
 				input= new OffsetStringParserInput(data.content.getText(), data.content.getBeginOffset());
 			}
 			else {
-				input= raInput.reset(data.content.getText());
+				input= worker.input.reset(data.content.getText());
 			}
 			
 			final RScanner scanner= new RScanner(AstInfo.LEVEL_MODEL_DEFAULT,
-					this.raAstStringCache );
+					worker.astStringCache );
 			scanner.setCommentLevel(100);
-			final SourceComponent sourceComponent= scanner.scanSourceRange(
-					input.init(data.content.getBeginOffset(), data.content.getEndOffset()),
-					null );
+			SourceComponent sourceComponent= null;
+			if (data.unitState != null) {
+				final AstSource prevSource= data.unitState.astSource;
+				data.unitState.astSource= null;
+				if (prevSource != null && prevAst != null && prevAst.root == prevSource.root
+						&& prevSource.beginOffset == data.content.getBeginOffset() ) {
+					sourceComponent= updateSourceComponent(scanner, input, prevSource, data.content);
+				}
+			}
+			final boolean incremental= (sourceComponent != null);
+			if (!incremental) {
+				sourceComponent= scanner.scanSourceRange(
+						input.init(data.content.getBeginOffset(), data.content.getEndOffset()),
+						null );
+			}
 			data.ast= new AstInfo(scanner.getAstLevel(), stamp, sourceComponent);
 			
 			stopAst= System.nanoTime();
 			
-			this.raRoxygenScanner.init(
+			worker.roxygenScanner.init(
 					input.init(data.content.getBeginOffset(), data.content.getEndOffset()));
-			this.raRoxygenScanner.update(sourceComponent);
+			if (incremental) {
+				worker.roxygenScanner.updateNew(sourceComponent);
+			}
+			else {
+				worker.roxygenScanner.update(sourceComponent);
+			}
+			
+			if (data.unitState != null
+					&& data.content.getText().length() >= INCREMENTAL_MIN_LENGTH) {
+				data.unitState.astSource= new AstSource(sourceComponent, data.content);
+			}
 			
 			if (LOG_TIME) {
-				System.out.println(this.raAstStringCache.toString());
-				System.out.println("RReconciler/createAST   : " + DecimalFormat.getInstance().format(stopAst-startAst)); //$NON-NLS-1$
+				System.out.println(worker.astStringCache.toString());
+				System.out.println(((incremental) ?
+								"RReconciler/updateAST   : " : "RReconciler/createAST   : ") //$NON-NLS-1$ //$NON-NLS-2$
+						+ DecimalFormat.getInstance().format(stopAst-startAst) );
 			}
 			
 			synchronized (data.adapter) {
@@ -209,7 +320,38 @@ public class RReconciler {
 		}
 	}
 	
-	protected final boolean updateModel(final Data data) {
+	/**
+	 * Tries to update the AST of the previous source incrementally.
+	 * 
+	 * The changed region is computed by comparing the previous and the current text.
+	 * 
+	 * @return the updated source component or <code>null</code>, if a full scan is required
+	 */
+	private SourceComponent updateSourceComponent(final RScanner scanner, final TextParserInput input,
+			final AstSource prevSource, final SourceContent content) {
+		final String prevText= prevSource.text;
+		final String text= content.getText();
+		final int prevLength= prevText.length();
+		final int length= text.length();
+		final int commonLength= Math.min(prevLength, length);
+		
+		int prefix= 0;
+		while (prefix < commonLength && prevText.charAt(prefix) == text.charAt(prefix)) {
+			prefix++;
+		}
+		int suffix= 0;
+		while (suffix < commonLength - prefix
+				&& prevText.charAt(prevLength - 1 - suffix) == text.charAt(length - 1 - suffix) ) {
+			suffix++;
+		}
+		
+		final int beginOffset= content.getBeginOffset();
+		return scanner.updateSourceRange(input.init(beginOffset, content.getEndOffset()),
+				prevSource.root,
+				beginOffset + prefix, beginOffset + prevLength - suffix, beginOffset + length - suffix );
+	}
+	
+	protected final boolean updateModel(final Worker worker, final Data data) {
 		data.newModel= data.adapter.getCurrentModel();
 		if (data.newModel != null && !data.ast.getStamp().equals(data.newModel.getStamp())) {
 			data.newModel= null;
@@ -220,7 +362,7 @@ public class RReconciler {
 			final long stopModel;
 			startModel= System.nanoTime();
 			
-			final IRModelInfo model= this.rmScopeAnalyzer.createModel(data.adapter.getSourceUnit(), data.ast);
+			final IRModelInfo model= worker.scopeAnalyzer.createModel(data.adapter.getSourceUnit(), data.ast);
 			final boolean isOK= (model != null);
 			
 			stopModel= System.nanoTime();
@@ -241,13 +383,14 @@ public class RReconciler {
 		return false;
 	}
 	
-	private IRModelInfo updateModel(final IRSourceUnit su, final ISourceUnitModelInfo modelInfo,
+	private IRModelInfo updateModel(final Worker worker,
+			final IRSourceUnit su, final ISourceUnitModelInfo modelInfo,
 			final List<? extends RChunkElement> chunkElements,
 			final List<? extends SourceComponent> inlineNodes) {
 		IRModelInfo model;
 		try {
 			final AstInfo ast= modelInfo.getAst();
-			this.rmScopeAnalyzer.beginChunkSession(su, ast);
+			worker.scopeAnalyzer.beginChunkSession(su, ast);
 			for (final RChunkElement chunkElement : chunkElements) {
 				final List<SourceComponent> rootNodes;
 				{	final Object source= chunkElement.getAdapter(SourceComponent.class);
@@ -261,14 +404,14 @@ public class RReconciler {
 						continue;
 					}
 				}
-				this.rmScopeAnalyzer.processChunk(chunkElement, rootNodes);
+				worker.scopeAnalyzer.processChunk(chunkElement, rootNodes);
 			}
 			for (final SourceComponent inlineNode : inlineNodes) {
-				this.rmScopeAnalyzer.processInlineNode(inlineNode);
+				worker.scopeAnalyzer.processInlineNode(inlineNode);
 			}
 		}
 		finally {
-			model= this.rmScopeAnalyzer.stopChunkSession();
+			model= worker.scopeAnalyzer.stopChunkSession();
 		}
 		return model;
 	}
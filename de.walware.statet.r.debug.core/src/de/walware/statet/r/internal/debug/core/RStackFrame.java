@@ -41,8 +41,8 @@ import de.walware.rj.server.dbg.CallStack;
 import de.walware.rj.server.dbg.Frame;
 import de.walware.rj.server.dbg.FrameContext;
 
-import de.walware.statet.r.console.core.LoadReferenceRunnable;
 import de.walware.statet.r.console.core.RProcess;
+import de.walware.statet.r.console.core.RWorkspace;
 import de.walware.statet.r.console.core.RWorkspace.ICombinedREnvironment;
 import de.walware.statet.r.core.data.ICombinedRElement;
 import de.walware.statet.r.core.model.RElementName;
@@ -177,6 +177,96 @@ public class RStackFrame extends RDebugElement implements IRStackFrame {
 	}
 	
 	
+	/**
+	 * Resolves the references requested while the runnable is waiting in the queue by a
+	 * single hot runnable.
+	 */
+	private class LoadReferencesRunnable extends AbstractRToolRunnable implements ISystemRunnable {
+		
+		
+		private final int fRunStamp;
+		
+		private final List<RReference> fRequested = new ArrayList<RReference>(4);
+		private final Map<Long, ICombinedRElement> fResolved = new HashMap<Long, ICombinedRElement>();
+		
+		private int fWaiting;
+		private boolean fCancel;
+		private boolean fFinished;
+		
+		
+		public LoadReferencesRunnable(final int stamp) {
+			super("r/workspace/loadElements", "Update Debug Context (References)");
+			fRunStamp = stamp;
+		}
+		
+		@Override
+		public boolean isRunnableIn(final ITool tool) {
+			return (tool == fThread.getDebugTarget().getProcess());
+		}
+		
+		@Override
+		public boolean changed(final int event, final ITool tool) {
+			switch (event) {
+			case REMOVING_FROM:
+				synchronized (this) {
+					if (!fCancel) {
+						return false;
+					}
+					fFinished = true;
+					notifyAll();
+				}
+				return true;
+			case MOVING_FROM:
+				return false;
+			case BEING_ABANDONED:
+			case FINISHING_OK:
+			case FINISHING_ERROR:
+			case FINISHING_CANCEL:
+				synchronized (this) {
+					fFinished = true;
+					notifyAll();
+				}
+				break;
+			default:
+				break;
+			}
+			return true;
+		}
+		
+		@Override
+		public void run(final IRToolService r,
+				final IProgressMonitor monitor) throws CoreException {
+			synchronized (fReferencesLock) {
+				if (fLoadReferencesRunnable == this) {
+					fLoadReferencesRunnable = null;
+				}
+			}
+			final AbstractRDbgController controller = (AbstractRDbgController) r;
+			if (fRunStamp != controller.getCounter()) {
+				return;
+			}
+			final RReference[] references;
+			synchronized (this) {
+				if (fCancel) {
+					return;
+				}
+				references = fRequested.toArray(new RReference[fRequested.size()]);
+			}
+			final RWorkspace workspace = controller.getWorkspaceData();
+			for (final RReference reference : references) {
+				if (monitor.isCanceled()) {
+					return;
+				}
+				final ICombinedRElement element = workspace.resolve(reference, monitor);
+				synchronized (this) {
+					fResolved.put(Long.valueOf(reference.getHandle()), element);
+				}
+			}
+		}
+		
+	}
+	
+	
 	private final ReentrantReadWriteLock fLock = new ReentrantReadWriteLock();
 	
 	private final IRThread fThread;
@@ -201,6 +291,9 @@ public class RStackFrame extends RDebugElement implements IRStackFrame {
 	
 	private Map<Long, ICombinedRElement> fReferences;
 	
+	private final Object fReferencesLock = new Object();
+	private LoadReferencesRunnable fLoadReferencesRunnable;
+	
 	private IRBreakpointStatus fBreakpointStatus;
 	
 	
@@ -610,21 +703,59 @@ public class RStackFrame extends RDebugElement implements IRStackFrame {
 			return null;
 		}
 		final RProcess process = getDebugTarget().getProcess();
-		final LoadReferenceRunnable runnable = new LoadReferenceRunnable(reference, process, stamp,
-				"Debug Context" );
+		LoadReferencesRunnable runnable;
+		boolean schedule = false;
+		synchronized (fReferencesLock) {
+			runnable = fLoadReferencesRunnable;
+			if (runnable == null || runnable.fRunStamp != stamp) {
+				runnable = new LoadReferencesRunnable(stamp);
+				fLoadReferencesRunnable = runnable;
+				schedule = true;
+			}
+			synchronized (runnable) {
+				runnable.fRequested.add(reference);
+				runnable.fWaiting++;
+			}
+		}
+		if (schedule && !process.getQueue().addHot(runnable).isOK()) {
+			synchronized (fReferencesLock) {
+				if (fLoadReferencesRunnable == runnable) {
+					fLoadReferencesRunnable = null;
+				}
+			}
+			synchronized (runnable) {
+				runnable.fFinished = true;
+				runnable.notifyAll();
+			}
+			return null;
+		}
 		synchronized (runnable) {
-			if (process.getQueue().addHot(runnable).isOK()) {
-				try {
+			try {
+				while (!runnable.fFinished) {
 					runnable.wait();
-					return runnable.getResolvedElement();
 				}
-				catch (final InterruptedException e) {
-					runnable.cancel();
-					getDebugTarget().getProcess().getQueue().removeHot(runnable);
+				return runnable.fResolved.get(Long.valueOf(reference.getHandle()));
+			}
+			catch (final InterruptedException e) {
+			}
+		}
+		boolean remove = false;
+		synchronized (fReferencesLock) {
+			synchronized (runnable) {
+				// no other thread can request the runnable while the lock is held
+				if (--runnable.fWaiting == 0 && !runnable.fFinished) {
+					if (fLoadReferencesRunnable == runnable) {
+						fLoadReferencesRunnable = null;
+					}
+					runnable.fCancel = true;
+					remove = true;
 				}
 			}
-			return null;
 		}
+		if (remove) {
+			process.getQueue().removeHot(runnable);
+		}
+		return null;
 	}
 	
 	public void registerReference(final RReference reference, final int stamp) {
@@ -11,6 +11,7 @@
 
 package de.walware.statet.r.internal.ui.dataeditor;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -137,6 +138,7 @@ public abstract class AbstractRDataProvider<T extends RObject> implements IDataP
 		
 		boolean scheduled;
 		Object waiting;
+		boolean readAhead;
 		
 		
 		@Override
@@ -144,7 +146,7 @@ public abstract class AbstractRDataProvider<T extends RObject> implements IDataP
 			if (!scheduled) {
 				scheduled = true;
 				AbstractRDataProvider.this.schedule(fUpdateRunnable);
-				if (fragment != null) {
+				if (fragment != null && !readAhead) {
 					waiting = fragment;
 					try {
 						fFragmentsLock.wait(25);
@@ -468,6 +470,7 @@ public abstract class AbstractRDataProvider<T extends RObject> implements IDataP
 	
 	protected final AbstractRDataAdapter<T, T> fAdapter;
 	private final LazyRStore<T> fDataStore;
+	private final int fDataStoreMax;
 	
 	private boolean fUpdateSorting;
 	private boolean fUpdateFiltering;
@@ -489,6 +492,16 @@ public abstract class AbstractRDataProvider<T extends RObject> implements IDataP
 	
 	private final FindManager fFindManager;
 	
+	private long fViewFirstRowIdx = -1; // only in display
+	private long fViewLastRowIdx; // only in display
+	private final List<LazyRStore.Fragment<T>> fViewFragments; // only in display
+	private long fPassFirstRowIdx = -1; // only in display
+	private long fPassLastRowIdx; // only in display
+	private long fPassColumnIdx; // only in display
+	private LazyRStore.Fragment<T> fPassFirstFragment; // only in display
+	private LazyRStore.Fragment<T> fPassLastFragment; // only in display
+	private volatile boolean fReadAheadReset;
+	
 	
 	protected AbstractRDataProvider(final IRDataTableInput input,
 			final AbstractRDataAdapter<T, T> adapter, final T initialRObject) {
@@ -510,6 +523,8 @@ public abstract class AbstractRDataProvider<T extends RObject> implements IDataP
 			dataMax = 25;
 		}
 		fDataStore = new LazyRStore<T>(fRowCount, fColumnCount, dataMax, fFragmentsLock);
+		fDataStoreMax = dataMax;
+		fViewFragments = new ArrayList<LazyRStore.Fragment<T>>(dataMax);
 		fFindManager = new FindManager(this);
 		
 		fColumnDataProvider = createColumnDataProvider();
@@ -652,6 +667,9 @@ public abstract class AbstractRDataProvider<T extends RObject> implements IDataP
 	}
 	
 	private void runUpdate(final IRToolService r, final IProgressMonitor monitor) throws CoreException {
+		// the R object is checked only once for all fragments loaded by this runnable,
+		// fragments scheduled meanwhile are loaded in the same run
+		boolean checked = false;
 		boolean work = true;
 		while (work) {
 			try {
@@ -671,22 +689,25 @@ public abstract class AbstractRDataProvider<T extends RObject> implements IDataP
 				}
 				
 				if (updateSorting) {
-					if (!work) {
-						work = true;
+					work = true;
+					if (!checked) {
+						checked = true;
 						fAdapter.check(fInput.getFullName(), fRObjectStruct, r, monitor);
 					}
 					updateSorting(r, monitor);
 				}
 				if (updateFiltering) {
-					if (!work) {
-						work = true;
+					work = true;
+					if (!checked) {
+						checked = true;
 						fAdapter.check(fInput.getFullName(), fRObjectStruct, r, monitor);
 					}
 					updateFiltering(r, monitor);
 				}
 				if (fUpdateIdx) {
-					if (!work) {
-						work = true;
+					work = true;
+					if (!checked) {
+						checked = true;
 						fAdapter.check(fInput.getFullName(), fRObjectStruct, r, monitor);
 					}
 					updateIdx(r, monitor);
@@ -702,8 +723,9 @@ public abstract class AbstractRDataProvider<T extends RObject> implements IDataP
 						if (fragment == null) {
 							break;
 						}
-						if (!work) {
-							work = true;
+						work = true;
+						if (!checked) {
+							checked = true;
 							fAdapter.check(fInput.getFullName(), fRObjectStruct, r, monitor);
 						}
 						final RVector<?> fragmentObject = fAdapter.loadRowNames(fInput.getFullName(),
@@ -725,8 +747,9 @@ public abstract class AbstractRDataProvider<T extends RObject> implements IDataP
 						if (fragment == null) {
 							break;
 						}
-						if (!work) {
-							work = true;
+						work = true;
+						if (!checked) {
+							checked = true;
 							fAdapter.check(fInput.getFullName(), fRObjectStruct, r, monitor);
 						}
 						final T fragmentObject = fAdapter.loadData(fInput.getFullName(),
@@ -863,9 +886,7 @@ public abstract class AbstractRDataProvider<T extends RObject> implements IDataP
 				}
 			}
 		}
-		else {
-			return null;
-		}
+		return fRCacheIdxR;
 	}
 	
 	protected abstract RDataTableContentDescription loadDescription(RElementName name,
@@ -1126,6 +1147,7 @@ public abstract class AbstractRDataProvider<T extends RObject> implements IDataP
 			final LazyRStore.Fragment<T> fragment = fFragmentsLock.getFragment(
 					fDataStore, rowIndex, columnIndex );
 			if (fragment != null) {
+				trackAccess(fragment, rowIndex, columnIndex);
 				return getDataValue(fragment, rowIndex, columnIndex);
 			}
 			else {
@@ -1137,6 +1159,84 @@ public abstract class AbstractRDataProvider<T extends RObject> implements IDataP
 		}
 	}
 	
+	/**
+	 * Tracks the data accessed by the viewer to read ahead the next fragment in scroll direction.
+	 * 
+	 * A request pass of the viewer (e.g. a column of the visible cells) ends if a row before the
+	 * previous one is requested. The view is scrolled if the first and the last row of a pass are
+	 * both moved in the same direction compared to the previous view.
+	 */
+	private void trackAccess(final LazyRStore.Fragment<T> fragment,
+			final long rowIdx, final long columnIdx) {
+		if (fReadAheadReset) {
+			fReadAheadReset = false;
+			fViewFirstRowIdx = -1;
+			fViewFragments.clear();
+			fPassFirstRowIdx = -1;
+		}
+		if (fPassFirstRowIdx < 0 || rowIdx < fPassLastRowIdx) {
+			if (fPassFirstRowIdx >= 0) {
+				endPass();
+			}
+			fPassFirstRowIdx = rowIdx;
+			fPassColumnIdx = columnIdx;
+			fPassFirstFragment = fragment;
+			fPassLastFragment = null;
+		}
+		fPassLastRowIdx = rowIdx;
+		if (fragment != fPassLastFragment) {
+			fPassLastFragment = fragment;
+			if (fViewFragments.size() < fDataStoreMax && !fViewFragments.contains(fragment)) {
+				fViewFragments.add(fragment);
+			}
+		}
+	}
+	
+	private void endPass() {
+		if (fViewFirstRowIdx < 0) {
+			fViewFirstRowIdx = fPassFirstRowIdx;
+			fViewLastRowIdx = fPassLastRowIdx;
+			return;
+		}
+		final long rowIdx;
+		if (fPassFirstRowIdx > fViewFirstRowIdx && fPassLastRowIdx > fViewLastRowIdx) {
+			rowIdx = fPassLastFragment.getRowEndIdx();
+		}
+		else if (fPassFirstRowIdx < fViewFirstRowIdx && fPassLastRowIdx < fViewLastRowIdx) {
+			rowIdx = fPassFirstFragment.getRowBeginIdx() - 1;
+		}
+		else {
+			return;
+		}
+		fViewFirstRowIdx = fPassFirstRowIdx;
+		fViewLastRowIdx = fPassLastRowIdx;
+		// the fragments of the previous view are counted too, so the read ahead does not
+		// evict fragments of the current view from the store
+		final int viewFragmentCount = fViewFragments.size();
+		fViewFragments.clear();
+		if (rowIdx >= 0 && rowIdx < fRowCount && viewFragmentCount < fDataStoreMax) {
+			readAhead(rowIdx, fPassColumnIdx);
+		}
+	}
+	
+	/**
+	 * Schedules the loading of the fragment with the specified cell, without waiting for it.
+	 */
+	private void readAhead(final long rowIdx, final long columnIdx) {
+		synchronized (fFragmentsLock) {
+			if (fFragmentsLock.state > 0) {
+				return;
+			}
+			fFragmentsLock.readAhead = true;
+			try {
+				fDataStore.getFragment(rowIdx, columnIdx);
+			}
+			finally {
+				fFragmentsLock.readAhead = false;
+			}
+		}
+	}
+	
 	protected abstract Object getDataValue(LazyRStore.Fragment<T> fragment, long rowIdx, long columnIdx);
 	
 	@Override
@@ -1299,6 +1399,7 @@ public abstract class AbstractRDataProvider<T extends RObject> implements IDataP
 			final boolean clearFind) {
 		synchronized (fFragmentsLock) {
 			fDataStore.clear(filteredRowCount);
+			fReadAheadReset = true;
 			if (fRowDataProvider instanceof AbstractRDataProvider<?>.RowDataProvider) {
 				((RowDataProvider) fRowDataProvider).fRowNamesStore.clear(filteredRowCount);
 			}
@@ -113,12 +113,16 @@ class FindManager {
 	private FindTask fScheduledTask;
 	
 	private String fRCacheFind; // only in R jobs
+	private String fRCacheFindOrder; // only in R jobs
+	private int fRCacheFindOrderStamp; // only in R jobs
 	private FindTask fCurrentTask;
 	private int fActiveMode;
 	private String fActiveExpression;
 	private long fFindTotalCount;
 	private long fFindFilteredCount;
 	private long fFindLastMatchIdx;
+	/** Stamp of the order of the matches, changed if the order of the rows or the task changes */
+	private int fFindOrderStamp;
 	
 	private final FindLock fLock = new FindLock();
 	private final LazyRStore<RObject> fFindStore;
@@ -144,6 +148,10 @@ class FindManager {
 	}
 	
 	void clean(final IRToolService r, final IProgressMonitor monitor) throws CoreException {
+		if (fRCacheFindOrder != null) {
+			AbstractRDataProvider.cleanTmp(fRCacheFindOrder, r, monitor);
+			fRCacheFindOrder = null;
+		}
 		if (fRCacheFind != null) {
 			AbstractRDataProvider.cleanTmp(fRCacheFind, r, monitor);
 			fRCacheFind = null;
@@ -156,6 +164,7 @@ class FindManager {
 			fFindStore.clear(0);
 			fActiveExpression = null;
 			fFindLastMatchIdx = -1;
+			fFindOrderStamp++;
 			
 			if (newState >= 0 && fLock.state < Lock.ERROR_STATE) {
 				fLock.state = newState;
@@ -172,6 +181,7 @@ class FindManager {
 				fFindFilteredCount = -1;
 			}
 			fFindLastMatchIdx = -1;
+			fFindOrderStamp++;
 			
 			if (fLock.state < Lock.LOCAL_PAUSE_STATE) {
 				fLock.state = Lock.LOCAL_PAUSE_STATE;
@@ -324,6 +334,7 @@ class FindManager {
 				fFindFilteredCount = filteredCount;
 				fFindStore.clear(filteredCount);
 				fFindLastMatchIdx = -1;
+				fFindOrderStamp++;
 				if (mode != FIND_ERROR && fLock.state < Lock.PAUSE_STATE) {
 					fLock.state = 0;
 				}
@@ -378,7 +389,34 @@ class FindManager {
 	
 	private RObject loadFindFragment(final LazyRStore.Fragment<RObject> fragment,
 			final IRToolService r, final IProgressMonitor monitor) throws CoreException, UnexpectedRDataException {
+		final int orderStamp;
+		synchronized (fLock) {
+			orderStamp = fFindOrderStamp;
+		}
+		if (fRCacheFindOrder == null || orderStamp != fRCacheFindOrderStamp) {
+			updateFindOrder(r, monitor);
+			fRCacheFindOrderStamp = orderStamp;
+		}
+		{	final StringBuilder cmd = fDataProvider.getRCmdStringBuilder();
+			cmd.append(RJTmp.ENV+'$').append(fRCacheFindOrder);
+			cmd.append("[").append(fragment.getRowBeginIdx() + 1).append(":").append(fragment.getRowEndIdx());
+			if (fActiveMode == FIND_CELL) {
+				cmd.append(",");
+			}
+			cmd.append("]");
+			return r.evalData(cmd.toString(), monitor);
+		}
+	}
+	
+	/**
+	 * Creates the matches in the order of the rows in the viewer, so that the fragments can be
+	 * loaded without sorting all matches again.
+	 */
+	private void updateFindOrder(final IRToolService r, final IProgressMonitor monitor) throws CoreException {
 		final String revIndexName = fDataProvider.checkRevIndex(r, monitor);
+		if (fRCacheFindOrder == null) {
+			fRCacheFindOrder = fRCacheFind + ".o"; //$NON-NLS-1$
+		}
 		{	final StringBuilder cmd = fDataProvider.getRCmdStringBuilder();
 			cmd.append("local({");
 			if (revIndexName != null) {
@@ -403,14 +441,17 @@ class FindManager {
 			else {
 				cmd.append("x");
 			}
-			cmd.append(")").append("[").append(fragment.getRowBeginIdx() + 1).append(":").append(fragment.getRowEndIdx()).append("]");
+			cmd.append(")");
 			if (fActiveMode == FIND_CELL) {
 				cmd.append(",");
 			}
 			cmd.append("]; ");
 			cmd.append("x; ");
 			cmd.append("})");
-			return r.evalData(cmd.toString(), monitor);
+			final FunctionCall call = r.createFunctionCall(RJTmp.SET);
+			call.addChar(RJTmp.NAME_PAR, fRCacheFindOrder);
+			call.add(RJTmp.VALUE_PAR, cmd.toString());
+			call.evalVoid(monitor);
 		}
 	}
 	
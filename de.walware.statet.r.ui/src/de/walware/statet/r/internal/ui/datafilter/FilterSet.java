@@ -38,6 +38,7 @@ import de.walware.statet.r.ui.dataeditor.RDataTableColumn;
 public class FilterSet {
 	
 	
+	/** Delay (ms) of the post listeners, restarted by each change */
 	private final static int POST_DELAY = 400;
 	
 	private final static int STD_DELAY = 1;
@@ -111,7 +112,7 @@ public class FilterSet {
 			}
 			
 			if (schedule != NO_DELAY) {
-				fPostListenerTime = System.nanoTime() + POST_DELAY;
+				fPostListenerTime = System.nanoTime() + POST_DELAY * 1000000L;
 				if (fPostListenerScheduled) {
 					return;
 				}
@@ -134,7 +135,7 @@ public class FilterSet {
 				fPostListenerScheduled = false;
 				return;
 			}
-			final long time = fPostListenerTime - System.nanoTime();
+			final long time = (fPostListenerTime - System.nanoTime()) / 1000000L;
 			if (time > 20) {
 				fRealm.timerExec((int) time, this);
 				return;
@@ -12,6 +12,7 @@
 package de.walware.statet.r.ui.sourceediting;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -68,6 +69,7 @@ import de.walware.statet.r.core.model.IPackageReferences;
 import de.walware.statet.r.core.model.IRElement;
 import de.walware.statet.r.core.model.IRFrame;
 import de.walware.statet.r.core.model.IRFrameInSource;
+import de.walware.statet.r.core.model.IRIndexedFrame;
 import de.walware.statet.r.core.model.IRMethod;
 import de.walware.statet.r.core.model.IRModelInfo;
 import de.walware.statet.r.core.model.IRSourceUnit;
@@ -81,6 +83,7 @@ import de.walware.statet.r.core.rsource.ast.NodeType;
 import de.walware.statet.r.core.rsource.ast.RAstNode;
 import de.walware.statet.r.core.source.IRDocumentConstants;
 import de.walware.statet.r.core.source.RHeuristicTokenScanner;
+import de.walware.statet.r.internal.core.sourcemodel.IRAccessNamesIndexedFrame;
 import de.walware.statet.r.internal.ui.editors.RArgumentListContextInformation;
 import de.walware.statet.r.internal.ui.editors.RElementCompletionProposal;
 import de.walware.statet.r.internal.ui.editors.RKeywordCompletionProposal;
@@ -148,6 +151,12 @@ public class RElementsCompletionComputer implements IContentAssistComputer {
 	private static final int WS_ENVIR = 1;
 	private static final int RUNTIME_ENVIR = 2;
 	
+	/**
+	 * Count of main proposals, after which the remaining frames (with lower relevance) are
+	 * no longer searched.
+	 */
+	private static final int MAIN_PROPOSALS_LIMIT = 1000;
+	
 	
 	private static final List<String> fgKeywords;
 	static {
@@ -428,9 +437,13 @@ public class RElementsCompletionComputer implements IContentAssistComputer {
 		final int offset = context.getInvocationOffset()-orgPrefix.length();
 		final Set<String> mainNames = new HashSet<String>();
 		final List<String> methodNames = new ArrayList<String>();
+		int proposalCount = 0;
 		
 		int sourceLevel = 5;
 		for (final EnvirIter iter = new EnvirIter(); iter.hasNext();) {
+			if (proposalCount >= MAIN_PROPOSALS_LIMIT) {
+				break;
+			}
 			final IRFrame envir = iter.next();
 			int relevance;
 			switch (envir.getFrameType()) {
@@ -452,7 +465,12 @@ public class RElementsCompletionComputer implements IContentAssistComputer {
 				relevance = -10;
 				break;
 			}
-			final List<? extends IRElement> elements = envir.getModelChildren(null);
+			if (monitor.isCanceled()) {
+				return;
+			}
+			final List<? extends IRElement> elements = (envir instanceof IRIndexedFrame) ?
+					((IRIndexedFrame) envir).getModelChildrenByPrefix(namePrefix, null) :
+					envir.getModelChildren(null);
 			for (final IRElement element : elements) {
 				final IElementName elementName = element.getElementName();
 				final int c1type = (element.getElementType() & IModelElement.MASK_C1);
@@ -476,6 +494,7 @@ public class RElementsCompletionComputer implements IContentAssistComputer {
 							}
 						}
 						proposals.add(proposal);
+						proposalCount++;
 					}
 				}
 			}
@@ -483,10 +502,15 @@ public class RElementsCompletionComputer implements IContentAssistComputer {
 		
 		mainNames.addAll(methodNames);
 		for (final EnvirIter iter = new EnvirIter(); iter.hasNext();) {
+			if (proposalCount >= MAIN_PROPOSALS_LIMIT || monitor.isCanceled()) {
+				return;
+			}
 			final IRFrame envir = iter.next();
 			if (envir instanceof IRFrameInSource) {
 				final IRFrameInSource sframe = (IRFrameInSource) envir;
-				final Set<String> elementNames = sframe.getAllAccessNames();
+				final Collection<String> elementNames = (sframe instanceof IRAccessNamesIndexedFrame) ?
+						((IRAccessNamesIndexedFrame) sframe).getAllAccessNamesByPrefix(namePrefix) :
+						sframe.getAllAccessNames();
 				for (final String candidate : elementNames) {
 					if (candidate != null
 							&& pattern.matches(candidate) 
@@ -496,6 +520,7 @@ public class RElementsCompletionComputer implements IContentAssistComputer {
 						if (proposal != null) {
 							mainNames.add(candidate);
 							proposals.add(proposal);
+							proposalCount++;
 						}
 					}
 				}